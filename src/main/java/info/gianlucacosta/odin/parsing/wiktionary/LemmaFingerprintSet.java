@@ -0,0 +1,184 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.parsing.wiktionary;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+class LemmaFingerprintSet {
+    public static final int DEFAULT_MAX_FINGERPRINTS = 1 << 21;
+
+    private static final Logger logger = Logger.getLogger(LemmaFingerprintSet.class.getName());
+
+    private static final int STRIPES_COUNT = 64;
+    private static final int INITIAL_STRIPE_CAPACITY = 256;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+
+    public static long fingerprint(Lemma lemma) {
+        long categoriesFingerprint =
+                lemma
+                        .getCategories()
+                        .stream()
+                        .mapToLong(category -> mix(hash(category)))
+                        .sum();
+
+        return mix(hash(lemma.getExpression()) ^ categoriesFingerprint);
+    }
+
+
+    private static long hash(String text) {
+        long result = FNV_OFFSET_BASIS;
+
+        for (int i = 0; i < text.length(); i++) {
+            result ^= text.charAt(i);
+            result *= FNV_PRIME;
+        }
+
+        return result;
+    }
+
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+
+        return value;
+    }
+
+
+    private final Stripe[] stripes = new Stripe[STRIPES_COUNT];
+    private final AtomicBoolean saturationReported = new AtomicBoolean();
+
+
+    public LemmaFingerprintSet() {
+        this(DEFAULT_MAX_FINGERPRINTS);
+    }
+
+
+    public LemmaFingerprintSet(int maxFingerprints) {
+        int maxStripeSize =
+                Math.max(1, maxFingerprints / STRIPES_COUNT);
+
+        for (int i = 0; i < STRIPES_COUNT; i++) {
+            stripes[i] = new Stripe(maxStripeSize);
+        }
+    }
+
+
+    public boolean add(long fingerprint) {
+        long storedFingerprint =
+                (fingerprint != 0) ? fingerprint : 1;
+
+        Stripe stripe =
+                stripes[(int) (storedFingerprint >>> 58)];
+
+        switch (stripe.add(storedFingerprint)) {
+            case ADDED:
+                return true;
+
+            case ALREADY_PRESENT:
+                return false;
+
+            default:
+                if (saturationReported.compareAndSet(false, true)) {
+                    logger.warning("The lemma fingerprint set is saturated - deduplication is now partial");
+                }
+
+                return true;
+        }
+    }
+
+
+    private enum AddingResult {
+        ADDED,
+        ALREADY_PRESENT,
+        SATURATED
+    }
+
+
+    private static class Stripe {
+        private final int maxSize;
+
+        private long[] slots = new long[INITIAL_STRIPE_CAPACITY];
+        private int size;
+
+
+        Stripe(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+
+        synchronized AddingResult add(long fingerprint) {
+            int slotIndex = findSlot(slots, fingerprint);
+
+            if (slots[slotIndex] == fingerprint) {
+                return AddingResult.ALREADY_PRESENT;
+            }
+
+            if (size >= maxSize) {
+                return AddingResult.SATURATED;
+            }
+
+            slots[slotIndex] = fingerprint;
+            size++;
+
+            if (size * 4L >= slots.length * 3L) {
+                grow();
+            }
+
+            return AddingResult.ADDED;
+        }
+
+
+        private void grow() {
+            long[] newSlots = new long[slots.length * 2];
+
+            for (long fingerprint : slots) {
+                if (fingerprint != 0) {
+                    newSlots[findSlot(newSlots, fingerprint)] = fingerprint;
+                }
+            }
+
+            slots = newSlots;
+        }
+
+
+        private static int findSlot(long[] slots, long fingerprint) {
+            int mask = slots.length - 1;
+            int slotIndex = (int) fingerprint & mask;
+
+            while (slots[slotIndex] != 0 && slots[slotIndex] != fingerprint) {
+                slotIndex = (slotIndex + 1) & mask;
+            }
+
+            return slotIndex;
+        }
+    }
+}
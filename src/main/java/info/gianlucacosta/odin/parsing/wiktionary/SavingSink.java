@@ -0,0 +1,122 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.parsing.wiktionary;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.odin.parsing.SinkResult;
+import info.gianlucacosta.odin.storage.AsyncLemmaSaver;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+class SavingSink {
+    private static final Logger logger = Logger.getLogger(SavingSink.class.getName());
+
+    private final AsyncLemmaSaver lemmaSaver;
+    private final Semaphore pendingSavesSemaphore;
+    private final Optional<ExecutorService> savingExecutorServiceOption;
+
+    private final AtomicLong unsavedLemmasCount = new AtomicLong();
+    private final AtomicLong savedLemmasCount = new AtomicLong();
+
+
+    public SavingSink(
+            AsyncLemmaSaver lemmaSaver,
+            int maxPendingSaves,
+            Optional<ExecutorService> savingExecutorServiceOption
+    ) {
+        if (maxPendingSaves < 1) {
+            throw new IllegalArgumentException("The max number of pending saves must be > 0");
+        }
+
+        this.lemmaSaver = lemmaSaver;
+        this.pendingSavesSemaphore = new Semaphore(maxPendingSaves);
+        this.savingExecutorServiceOption = savingExecutorServiceOption;
+    }
+
+
+    public CompletableFuture<Boolean> save(Lemma lemma) {
+        pendingSavesSemaphore.acquireUninterruptibly();
+
+        CompletionStage<Boolean> savingStage;
+
+        try {
+            savingStage = lemmaSaver.saveAsync(lemma);
+        } catch (RuntimeException ex) {
+            savingStage = createFailedSaving(ex);
+        }
+
+        if (savingStage == null) {
+            savingStage = createFailedSaving(
+                    new IllegalStateException("The lemma saver returned no saving stage")
+            );
+        }
+
+        return savingStage
+                .handle((saved, ex) -> {
+                    if (ex != null) {
+                        logger.warning(() ->
+                                String.format("Error while saving lemma: '%s', '%s'", lemma.getExpression(), ex)
+                        );
+                    }
+
+                    boolean savedBySink =
+                            ex == null && Boolean.TRUE.equals(saved);
+
+                    if (savedBySink) {
+                        savedLemmasCount.incrementAndGet();
+                    } else {
+                        unsavedLemmasCount.incrementAndGet();
+                    }
+
+                    pendingSavesSemaphore.release();
+
+                    return savedBySink;
+                })
+                .toCompletableFuture();
+    }
+
+
+    private static CompletableFuture<Boolean> createFailedSaving(Throwable cause) {
+        CompletableFuture<Boolean> failedSaving = new CompletableFuture<>();
+        failedSaving.completeExceptionally(cause);
+        return failedSaving;
+    }
+
+
+    public SinkResult getResult() {
+        return new SinkResult(
+                unsavedLemmasCount.get(),
+                savedLemmasCount.get()
+        );
+    }
+
+
+    public void shutdown() {
+        savingExecutorServiceOption.ifPresent(ExecutorService::shutdown);
+    }
+}
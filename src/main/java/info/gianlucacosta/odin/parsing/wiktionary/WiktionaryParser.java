@@ -20,7 +20,9 @@
 
 package info.gianlucacosta.odin.parsing.wiktionary;
 
+import info.gianlucacosta.balmung.lexicon.Lemma;
 import info.gianlucacosta.odin.parsing.Parser;
+import info.gianlucacosta.odin.storage.AsyncLemmaSaver;
 import info.gianlucacosta.odin.storage.LemmaSaver;
 import org.xml.sax.SAXException;
 
@@ -29,20 +31,35 @@ import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class WiktionaryParser implements Parser {
+    public static final int DEFAULT_MAX_PENDING_SAVES = 1024;
+
+    private static final int SAVING_THREADS = Runtime.getRuntime().availableProcessors();
+
     private final InputStream sourceStream;
-    private final LemmaSaver lemmaSaver;
+    private final Supplier<List<SavingSink>> savingSinksFactory;
 
     private final AtomicLong skippedLemmasCount = new AtomicLong();
+    private final AtomicLong duplicatedLemmasCount = new AtomicLong();
     private final AtomicLong unsavedLemmasCount = new AtomicLong();
     private final AtomicLong savedLemmasCount = new AtomicLong();
 
-    private final ExecutorService savingExecutorService;
+    private final LemmaFingerprintSet parsedLemmaFingerprints = new LemmaFingerprintSet();
+
+    private final AtomicLong pendingLemmasCount = new AtomicLong(1);
+    private final CompletableFuture<Void> allLemmasProcessed = new CompletableFuture<>();
 
     public WiktionaryParser(InputStream sourceStream, LemmaSaver lemmaSaver) {
         this(sourceStream, lemmaSaver, false);
@@ -50,65 +67,173 @@ public class WiktionaryParser implements Parser {
 
 
     public WiktionaryParser(InputStream sourceStream, LemmaSaver lemmaSaver, boolean multithreadedSaving) {
-        this.sourceStream = sourceStream;
-        this.lemmaSaver = lemmaSaver;
+        this(
+                sourceStream,
+                Collections.singletonList(lemmaSaver),
+                multithreadedSaving
+        );
+    }
+
+
+    public WiktionaryParser(InputStream sourceStream, List<? extends LemmaSaver> lemmaSavers, boolean multithreadedSaving) {
+        this(
+                sourceStream,
+                lemmaSavers,
+                DEFAULT_MAX_PENDING_SAVES,
+                (LemmaSaver lemmaSaver) -> {
+                    ExecutorService savingExecutorService =
+                            multithreadedSaving ?
+                                    Executors.newFixedThreadPool(SAVING_THREADS)
+                                    :
+                                    Executors.newSingleThreadExecutor();
+
+                    return new SavingSink(
+                            AsyncLemmaSaver.of(lemmaSaver, savingExecutorService),
+                            DEFAULT_MAX_PENDING_SAVES,
+                            Optional.of(savingExecutorService)
+                    );
+                }
+        );
+    }
+
+
+    public WiktionaryParser(InputStream sourceStream, AsyncLemmaSaver lemmaSaver, int maxPendingSaves) {
+        this(
+                sourceStream,
+                Collections.singletonList(lemmaSaver),
+                maxPendingSaves
+        );
+    }
+
+
+    public WiktionaryParser(InputStream sourceStream, List<? extends AsyncLemmaSaver> lemmaSavers, int maxPendingSavesPerSink) {
+        this(
+                sourceStream,
+                lemmaSavers,
+                maxPendingSavesPerSink,
+                (AsyncLemmaSaver lemmaSaver) ->
+                        new SavingSink(
+                                lemmaSaver,
+                                maxPendingSavesPerSink,
+                                Optional.empty()
+                        )
+        );
+    }
 
-        if (multithreadedSaving) {
-            savingExecutorService = Executors.newCachedThreadPool();
-        } else {
-            savingExecutorService = Executors.newSingleThreadExecutor();
+
+    private <S> WiktionaryParser(InputStream sourceStream, List<? extends S> lemmaSavers, int maxPendingSavesPerSink, Function<S, SavingSink> savingSinkFactory) {
+        if (lemmaSavers.isEmpty()) {
+            throw new IllegalArgumentException("At least one lemma saver is required");
+        }
+
+        if (maxPendingSavesPerSink < 1) {
+            throw new IllegalArgumentException("The max number of pending saves must be > 0");
         }
+
+        List<S> savers = new ArrayList<>(lemmaSavers);
+
+        this.sourceStream = sourceStream;
+
+        //The sinks - and their executors - only exist while parse() is running
+        this.savingSinksFactory = () ->
+                savers
+                        .stream()
+                        .map(savingSinkFactory)
+                        .collect(Collectors.toList());
     }
 
 
     @Override
     public WiktionaryParserResult parse() {
+        List<SavingSink> savingSinks = savingSinksFactory.get();
+
         SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
         try {
             SAXParser saxParser = saxParserFactory.newSAXParser();
-            WiktionarySaxHandler saxHandler = new WiktionarySaxHandler(this::processPageParserResult);
+            WiktionarySaxHandler saxHandler =
+                    new WiktionarySaxHandler(pageParserResult ->
+                            processPageParserResult(savingSinks, pageParserResult)
+                    );
             saxParser.parse(sourceStream, saxHandler);
             saxHandler.waitForTermination();
-            waitForSavingExecutorService();
+            waitForPendingLemmas();
         } catch (ParserConfigurationException | SAXException | IOException e) {
             throw new RuntimeException(e);
+        } finally {
+            savingSinks.forEach(SavingSink::shutdown);
         }
 
         return new WiktionaryParserResult(
                 skippedLemmasCount.get(),
+                duplicatedLemmasCount.get(),
                 unsavedLemmasCount.get(),
-                savedLemmasCount.get()
+                savedLemmasCount.get(),
+                savingSinks
+                        .stream()
+                        .map(SavingSink::getResult)
+                        .collect(Collectors.toList())
         );
     }
 
 
-    private void processPageParserResult(PageParserResult pageParserResult) {
+    private void processPageParserResult(List<SavingSink> savingSinks, PageParserResult pageParserResult) {
         skippedLemmasCount.addAndGet(pageParserResult.getSkippedLemmasCount());
 
         pageParserResult
                 .getValidLemmas()
-                .forEach(lemma ->
-                        savingExecutorService.submit(() -> {
-                            if (lemmaSaver.save(lemma)) {
-                                savedLemmasCount.incrementAndGet();
-                            } else {
-                                unsavedLemmasCount.incrementAndGet();
-                            }
-                        }));
+                .forEach(lemma -> {
+                    boolean isNewLemma =
+                            parsedLemmaFingerprints.add(
+                                    LemmaFingerprintSet.fingerprint(lemma)
+                            );
+
+                    if (isNewLemma) {
+                        saveLemma(savingSinks, lemma);
+                    } else {
+                        duplicatedLemmasCount.incrementAndGet();
+                    }
+                });
     }
 
 
-    private void waitForSavingExecutorService() {
-        savingExecutorService.shutdown();
+    private void saveLemma(List<SavingSink> savingSinks, Lemma lemma) {
+        pendingLemmasCount.incrementAndGet();
 
-        while (true) {
-            try {
-                if (savingExecutorService.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS)) {
-                    return;
-                }
-            } catch (InterruptedException e) {
-                //Just do nothing
-            }
+        List<CompletableFuture<Boolean>> sinkSavings =
+                savingSinks
+                        .stream()
+                        .map(savingSink -> savingSink.save(lemma))
+                        .collect(Collectors.toList());
+
+        CompletableFuture
+                .allOf(sinkSavings.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((result, ex) -> {
+                    boolean savedByAllSinks =
+                            sinkSavings
+                                    .stream()
+                                    .allMatch(CompletableFuture::join);
+
+                    if (savedByAllSinks) {
+                        savedLemmasCount.incrementAndGet();
+                    } else {
+                        unsavedLemmasCount.incrementAndGet();
+                    }
+
+                    releasePendingLemma();
+                });
+    }
+
+
+    private void releasePendingLemma() {
+        if (pendingLemmasCount.decrementAndGet() == 0) {
+            allLemmasProcessed.complete(null);
         }
     }
+
+
+    private void waitForPendingLemmas() {
+        releasePendingLemma();
+
+        allLemmasProcessed.join();
+    }
 }
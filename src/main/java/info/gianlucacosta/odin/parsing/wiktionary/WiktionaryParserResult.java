@@ -21,19 +21,48 @@
 package info.gianlucacosta.odin.parsing.wiktionary;
 
 import info.gianlucacosta.odin.parsing.ParserResult;
+import info.gianlucacosta.odin.parsing.SinkResult;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 public class WiktionaryParserResult implements ParserResult {
     private final long skippedLemmasCount;
+    private final long duplicatedLemmasCount;
     private final long unsavedLemmasCount;
     private final long savedLemmasCount;
+    private final List<SinkResult> sinkResults;
 
 
     public WiktionaryParserResult(long skippedLemmasCount, long unsavedLemmasCount, long savedLemmasCount) {
+        this(
+                skippedLemmasCount,
+                0,
+                unsavedLemmasCount,
+                savedLemmasCount
+        );
+    }
+
+
+    public WiktionaryParserResult(long skippedLemmasCount, long duplicatedLemmasCount, long unsavedLemmasCount, long savedLemmasCount) {
+        this(
+                skippedLemmasCount,
+                duplicatedLemmasCount,
+                unsavedLemmasCount,
+                savedLemmasCount,
+                Collections.emptyList()
+        );
+    }
+
+
+    public WiktionaryParserResult(long skippedLemmasCount, long duplicatedLemmasCount, long unsavedLemmasCount, long savedLemmasCount, List<SinkResult> sinkResults) {
         this.skippedLemmasCount = skippedLemmasCount;
+        this.duplicatedLemmasCount = duplicatedLemmasCount;
         this.unsavedLemmasCount = unsavedLemmasCount;
         this.savedLemmasCount = savedLemmasCount;
+        this.sinkResults = Collections.unmodifiableList(new ArrayList<>(sinkResults));
     }
 
 
@@ -53,27 +82,46 @@ public class WiktionaryParserResult implements ParserResult {
     }
 
 
+    public long getDuplicatedLemmasCount() {
+        return duplicatedLemmasCount;
+    }
+
+
+    @Override
+    public long getTotalLemmasCount() {
+        return ParserResult.super.getTotalLemmasCount() + duplicatedLemmasCount;
+    }
+
+
+    public List<SinkResult> getSinkResults() {
+        return sinkResults;
+    }
+
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof WiktionaryParserResult)) return false;
         WiktionaryParserResult that = (WiktionaryParserResult) o;
         return skippedLemmasCount == that.skippedLemmasCount &&
+                duplicatedLemmasCount == that.duplicatedLemmasCount &&
                 unsavedLemmasCount == that.unsavedLemmasCount &&
                 savedLemmasCount == that.savedLemmasCount;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(skippedLemmasCount, unsavedLemmasCount, savedLemmasCount);
+        return Objects.hash(skippedLemmasCount, duplicatedLemmasCount, unsavedLemmasCount, savedLemmasCount);
     }
 
     @Override
     public String toString() {
         return "WiktionaryParserResult{" +
                 "skippedLemmasCount=" + skippedLemmasCount +
+                ", duplicatedLemmasCount=" + duplicatedLemmasCount +
                 ", unsavedLemmasCount=" + unsavedLemmasCount +
                 ", savedLemmasCount=" + savedLemmasCount +
+                ", sinkResults=" + sinkResults +
                 '}';
     }
 }
@@ -24,15 +24,27 @@ import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 class WiktionarySaxHandler extends DefaultHandler {
     private static final String TEXT_ELEMENT = "text";
 
-    private final ExecutorService pageParsingExecutorService = Executors.newCachedThreadPool();
+    private static final int PAGE_PARSING_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int MAX_QUEUED_PAGES = 4 * PAGE_PARSING_THREADS;
+
+    private final ExecutorService pageParsingExecutorService =
+            new ThreadPoolExecutor(
+                    PAGE_PARSING_THREADS,
+                    PAGE_PARSING_THREADS,
+                    0,
+                    TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(MAX_QUEUED_PAGES),
+                    new ThreadPoolExecutor.CallerRunsPolicy()
+            );
 
     private final Consumer<PageParserResult> onPageParsed;
     private final StringBuilder textBuilder = new StringBuilder();
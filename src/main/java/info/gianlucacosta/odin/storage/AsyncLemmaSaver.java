@@ -0,0 +1,42 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+@FunctionalInterface
+public interface AsyncLemmaSaver {
+    CompletionStage<Boolean> saveAsync(Lemma lemma);
+
+
+    static AsyncLemmaSaver of(LemmaSaver lemmaSaver, Executor executor) {
+        return lemma ->
+                CompletableFuture.supplyAsync(
+                        () -> lemmaSaver.save(lemma),
+                        executor
+                );
+    }
+}
@@ -0,0 +1,338 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage;
+
+import info.gianlucacosta.balmung.lexicon.Adjective;
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.balmung.lexicon.Noun;
+import info.gianlucacosta.balmung.lexicon.Verb;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class CachingLexicon implements Lexicon {
+    public static final long DEFAULT_MAX_CACHED_EXPRESSIONS = 10_000;
+
+    private final Lexicon lexicon;
+    private final long maxWeight;
+    private final ToLongFunction<List<Lemma>> weigher;
+
+    private final LinkedHashMap<String, CachedLemmas> cache =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    private long currentWeight;
+    private long writesCount;
+
+    private long hitsCount;
+    private long missesCount;
+    private long evictionsCount;
+
+
+    public CachingLexicon(Lexicon lexicon) {
+        this(lexicon, DEFAULT_MAX_CACHED_EXPRESSIONS);
+    }
+
+
+    public CachingLexicon(Lexicon lexicon, long maxCachedExpressions) {
+        this(lexicon, maxCachedExpressions, lemmas -> 1);
+    }
+
+
+    public CachingLexicon(Lexicon lexicon, long maxWeight, ToLongFunction<List<Lemma>> weigher) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("The max weight must be > 0");
+        }
+
+        this.lexicon = lexicon;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+
+    public Lexicon getLexicon() {
+        return lexicon;
+    }
+
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+
+    @Override
+    public boolean save(Lemma lemma) {
+        try {
+            return lexicon.save(lemma);
+        } finally {
+            synchronized (cache) {
+                writesCount++;
+                uncache(lemma.getExpression());
+            }
+        }
+    }
+
+
+    @Override
+    public int saveAll(Collection<? extends Lemma> lemmas) {
+        try {
+            return lexicon.saveAll(lemmas);
+        } finally {
+            synchronized (cache) {
+                writesCount++;
+                lemmas.forEach(lemma -> uncache(lemma.getExpression()));
+            }
+        }
+    }
+
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            writesCount++;
+            cache.clear();
+            currentWeight = 0;
+        }
+    }
+
+
+    @Override
+    public List<Lemma> findByExpression(String expression) {
+        long observedWritesCount;
+
+        synchronized (cache) {
+            CachedLemmas cachedLemmas = cache.get(expression);
+
+            if (cachedLemmas != null) {
+                hitsCount++;
+                return cachedLemmas.lemmas;
+            }
+
+            missesCount++;
+            observedWritesCount = writesCount;
+        }
+
+        List<Lemma> lemmas =
+                Collections.unmodifiableList(
+                        new ArrayList<>(lexicon.findByExpression(expression))
+                );
+
+        synchronized (cache) {
+            if (writesCount == observedWritesCount) {
+                cacheLemmas(expression, lemmas);
+            }
+        }
+
+        return lemmas;
+    }
+
+
+    @Override
+    public List<Lemma> findByExpressions(Collection<String> expressions) {
+        Set<String> distinctExpressions = new LinkedHashSet<>(expressions);
+
+        Map<String, List<Lemma>> foundLemmas = new HashMap<>();
+        List<String> missingExpressions = new ArrayList<>();
+        long observedWritesCount;
+
+        synchronized (cache) {
+            distinctExpressions.forEach(expression -> {
+                CachedLemmas cachedLemmas = cache.get(expression);
+
+                if (cachedLemmas != null) {
+                    hitsCount++;
+                    foundLemmas.put(expression, cachedLemmas.lemmas);
+                } else {
+                    missesCount++;
+                    missingExpressions.add(expression);
+                }
+            });
+
+            observedWritesCount = writesCount;
+        }
+
+        if (!missingExpressions.isEmpty()) {
+            Map<String, List<Lemma>> loadedLemmas =
+                    lexicon
+                            .findByExpressions(missingExpressions)
+                            .stream()
+                            .collect(Collectors.groupingBy(Lemma::getExpression));
+
+            synchronized (cache) {
+                missingExpressions.forEach(expression -> {
+                    List<Lemma> lemmas =
+                            Collections.unmodifiableList(
+                                    loadedLemmas.getOrDefault(expression, Collections.emptyList())
+                            );
+
+                    foundLemmas.put(expression, lemmas);
+
+                    if (writesCount == observedWritesCount) {
+                        cacheLemmas(expression, lemmas);
+                    }
+                });
+            }
+        }
+
+        return distinctExpressions
+                .stream()
+                .flatMap(expression -> foundLemmas.get(expression).stream())
+                .collect(Collectors.toList());
+    }
+
+
+    private void cacheLemmas(String expression, List<Lemma> lemmas) {
+        long weight = weigher.applyAsLong(lemmas);
+
+        if (weight > maxWeight) {
+            return;
+        }
+
+        uncache(expression);
+
+        cache.put(expression, new CachedLemmas(lemmas, weight));
+        currentWeight += weight;
+
+        Iterator<CachedLemmas> eldestIterator = cache.values().iterator();
+
+        while (currentWeight > maxWeight) {
+            CachedLemmas eldestLemmas = eldestIterator.next();
+            eldestIterator.remove();
+
+            currentWeight -= eldestLemmas.weight;
+            evictionsCount++;
+        }
+    }
+
+
+    private void uncache(String expression) {
+        CachedLemmas removedLemmas = cache.remove(expression);
+
+        if (removedLemmas != null) {
+            currentWeight -= removedLemmas.weight;
+        }
+    }
+
+
+    public long getHitsCount() {
+        synchronized (cache) {
+            return hitsCount;
+        }
+    }
+
+
+    public long getMissesCount() {
+        synchronized (cache) {
+            return missesCount;
+        }
+    }
+
+
+    public long getEvictionsCount() {
+        synchronized (cache) {
+            return evictionsCount;
+        }
+    }
+
+
+    public int getCachedExpressionsCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+
+    public long getCurrentWeight() {
+        synchronized (cache) {
+            return currentWeight;
+        }
+    }
+
+
+    @Override
+    public Stream<Lemma> findLemmas() {
+        return lexicon.findLemmas();
+    }
+
+
+    @Override
+    public Stream<Noun> findNouns() {
+        return lexicon.findNouns();
+    }
+
+
+    @Override
+    public Stream<Verb> findVerbs() {
+        return lexicon.findVerbs();
+    }
+
+
+    @Override
+    public Stream<Adjective> findAdjectives() {
+        return lexicon.findAdjectives();
+    }
+
+
+    @Override
+    public <T extends Lemma> Stream<T> findLemmas(Class<T> lemmaClass, LemmaCriteria criteria) {
+        return lexicon.findLemmas(lemmaClass, criteria);
+    }
+
+
+    @Override
+    public Stream<String> streamExpressions() {
+        return lexicon.streamExpressions();
+    }
+
+
+    @Override
+    public Stream<NounGender> streamNounGenders() {
+        return lexicon.streamNounGenders();
+    }
+
+
+    @Override
+    public <T extends Lemma> List<T> sample(Class<T> lemmaClass, int count, LemmaCriteria criteria) {
+        return lexicon.sample(lemmaClass, count, criteria);
+    }
+
+
+    private static class CachedLemmas {
+        final List<Lemma> lemmas;
+        final long weight;
+
+
+        CachedLemmas(List<Lemma> lemmas, long weight) {
+            this.lemmas = lemmas;
+            this.weight = weight;
+        }
+    }
+}
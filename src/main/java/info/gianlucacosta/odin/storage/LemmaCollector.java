@@ -0,0 +1,68 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class LemmaCollector implements LemmaSaver {
+    private final Map<Map.Entry<String, Set<String>>, Lemma> lemmas = new LinkedHashMap<>();
+
+
+    @Override
+    public synchronized boolean save(Lemma lemma) {
+        lemmas.put(
+                new AbstractMap.SimpleImmutableEntry<>(
+                        lemma.getExpression(),
+                        new HashSet<>(lemma.getCategories())
+                ),
+                lemma
+        );
+
+        return true;
+    }
+
+
+    public void addAll(Lexicon lexicon) {
+        try (Stream<Lemma> sourceLemmas = lexicon.findLemmas()) {
+            sourceLemmas.forEachOrdered(this::save);
+        }
+    }
+
+
+    public synchronized int getLemmasCount() {
+        return lemmas.size();
+    }
+
+
+    public synchronized List<Lemma> getLemmas() {
+        return new ArrayList<>(lemmas.values());
+    }
+}
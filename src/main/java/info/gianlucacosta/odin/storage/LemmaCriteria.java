@@ -0,0 +1,149 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage;
+
+import info.gianlucacosta.balmung.lexicon.Genus;
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.balmung.lexicon.Noun;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+public class LemmaCriteria implements Predicate<Lemma> {
+    private static final LemmaCriteria ANY =
+            new LemmaCriteria(
+                    Collections.emptySet(),
+                    Optional.empty(),
+                    Optional.empty()
+            );
+
+
+    public static LemmaCriteria any() {
+        return ANY;
+    }
+
+
+    private final Set<String> categories;
+    private final Optional<Genus> genusOption;
+    private final Optional<Integer> syllablesCountOption;
+
+
+    private LemmaCriteria(Set<String> categories, Optional<Genus> genusOption, Optional<Integer> syllablesCountOption) {
+        this.categories = Collections.unmodifiableSet(categories);
+        this.genusOption = genusOption;
+        this.syllablesCountOption = syllablesCountOption;
+    }
+
+
+    public LemmaCriteria withCategory(String category) {
+        Set<String> newCategories = new HashSet<>(categories);
+        newCategories.add(category);
+
+        return new LemmaCriteria(
+                newCategories,
+                genusOption,
+                syllablesCountOption
+        );
+    }
+
+
+    public LemmaCriteria withGenus(Genus genus) {
+        return new LemmaCriteria(
+                categories,
+                Optional.of(genus),
+                syllablesCountOption
+        );
+    }
+
+
+    public LemmaCriteria withSyllablesCount(int syllablesCount) {
+        return new LemmaCriteria(
+                categories,
+                genusOption,
+                Optional.of(syllablesCount)
+        );
+    }
+
+
+    public Set<String> getCategories() {
+        return categories;
+    }
+
+    public Optional<Genus> getGenusOption() {
+        return genusOption;
+    }
+
+    public Optional<Integer> getSyllablesCountOption() {
+        return syllablesCountOption;
+    }
+
+
+    @Override
+    public boolean test(Lemma lemma) {
+        if (!lemma.getCategories().containsAll(categories)) {
+            return false;
+        }
+
+        if (genusOption.isPresent()) {
+            if (!(lemma instanceof Noun)) {
+                return false;
+            }
+
+            if (!genusOption.equals(((Noun) lemma).getGenusOption())) {
+                return false;
+            }
+        }
+
+        return syllablesCountOption
+                .map(syllablesCount -> lemma.getSyllables().size() == syllablesCount)
+                .orElse(true);
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LemmaCriteria)) return false;
+        LemmaCriteria that = (LemmaCriteria) o;
+        return Objects.equals(categories, that.categories) &&
+                Objects.equals(genusOption, that.genusOption) &&
+                Objects.equals(syllablesCountOption, that.syllablesCountOption);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(categories, genusOption, syllablesCountOption);
+    }
+
+    @Override
+    public String toString() {
+        return "LemmaCriteria{" +
+                "categories=" + categories +
+                ", genusOption=" + genusOption +
+                ", syllablesCountOption=" + syllablesCountOption +
+                '}';
+    }
+}
@@ -22,7 +22,22 @@ package info.gianlucacosta.odin.storage;
 
 import info.gianlucacosta.balmung.lexicon.Lemma;
 
+import java.util.Collection;
+
 @FunctionalInterface
 public interface LemmaSaver {
     boolean save(Lemma lemma);
+
+
+    default int saveAll(Collection<? extends Lemma> lemmas) {
+        int savedLemmasCount = 0;
+
+        for (Lemma lemma : lemmas) {
+            if (save(lemma)) {
+                savedLemmasCount++;
+            }
+        }
+
+        return savedLemmasCount;
+    }
 }
@@ -25,6 +25,16 @@ import info.gianlucacosta.balmung.lexicon.Lemma;
 import info.gianlucacosta.balmung.lexicon.Noun;
 import info.gianlucacosta.balmung.lexicon.Verb;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public interface Lexicon extends LemmaSaver {
@@ -35,4 +45,86 @@ public interface Lexicon extends LemmaSaver {
     Stream<Verb> findVerbs();
 
     Stream<Adjective> findAdjectives();
+
+
+    default <T extends Lemma> Stream<T> findLemmas(Class<T> lemmaClass, LemmaCriteria criteria) {
+        return findLemmas()
+                .filter(lemmaClass::isInstance)
+                .map(lemmaClass::cast)
+                .filter(criteria);
+    }
+
+
+    default Stream<String> streamExpressions() {
+        return findLemmas()
+                .map(Lemma::getExpression)
+                .distinct();
+    }
+
+
+    default Stream<NounGender> streamNounGenders() {
+        return findNouns()
+                .map(noun ->
+                        new NounGender(
+                                noun.getExpression(),
+                                noun.getGenusOption()
+                        )
+                );
+    }
+
+
+    default List<Lemma> findByExpression(String expression) {
+        try (Stream<Lemma> lemmas = findLemmas()) {
+            return lemmas
+                    .filter(lemma -> Objects.equals(lemma.getExpression(), expression))
+                    .collect(Collectors.toList());
+        }
+    }
+
+
+    default List<Lemma> findByExpressions(Collection<String> expressions) {
+        Set<String> expressionSet = new HashSet<>(expressions);
+
+        try (Stream<Lemma> lemmas = findLemmas()) {
+            return lemmas
+                    .filter(lemma -> expressionSet.contains(lemma.getExpression()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+
+    default <T extends Lemma> List<T> sample(Class<T> lemmaClass, int count, LemmaCriteria criteria) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The sample size must be >= 0");
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        List<T> reservoir = new ArrayList<>(Math.min(count, 1024));
+
+        try (Stream<T> lemmas = findLemmas(lemmaClass, criteria)) {
+            Iterator<T> lemmasIterator = lemmas.iterator();
+
+            long seenLemmasCount = 0;
+
+            while (lemmasIterator.hasNext()) {
+                T lemma = lemmasIterator.next();
+                seenLemmasCount++;
+
+                if (reservoir.size() < count) {
+                    reservoir.add(lemma);
+                } else {
+                    long replacedIndex = random.nextLong(seenLemmasCount);
+
+                    if (replacedIndex < count) {
+                        reservoir.set((int) replacedIndex, lemma);
+                    }
+                }
+            }
+        }
+
+        Collections.shuffle(reservoir, random);
+
+        return reservoir;
+    }
 }
@@ -0,0 +1,70 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage;
+
+import info.gianlucacosta.balmung.lexicon.Genus;
+
+import java.util.Objects;
+import java.util.Optional;
+
+public class NounGender {
+    private final String expression;
+    private final Optional<Genus> genusOption;
+
+
+    public NounGender(String expression, Optional<Genus> genusOption) {
+        this.expression = expression;
+        this.genusOption = genusOption;
+    }
+
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public Optional<Genus> getGenusOption() {
+        return genusOption;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NounGender)) return false;
+        NounGender that = (NounGender) o;
+        return Objects.equals(expression, that.expression) &&
+                Objects.equals(genusOption, that.genusOption);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(expression, genusOption);
+    }
+
+    @Override
+    public String toString() {
+        return "NounGender{" +
+                "expression='" + expression + '\'' +
+                ", genusOption=" + genusOption +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+public interface ReadOnlyLexicon extends Lexicon {
+    @Override
+    List<Lemma> findByExpression(String expression);
+
+
+    @Override
+    default List<Lemma> findByExpressions(Collection<String> expressions) {
+        return expressions
+                .stream()
+                .distinct()
+                .flatMap(expression -> findByExpression(expression).stream())
+                .collect(Collectors.toList());
+    }
+
+
+    @Override
+    default boolean save(Lemma lemma) {
+        Logger.getLogger(getClass().getName()).warning(() ->
+                String.format("Cannot save lemma '%s' to the read-only %s", lemma.getExpression(), getClass().getSimpleName())
+        );
+
+        return false;
+    }
+}
@@ -0,0 +1,128 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.binary;
+
+import info.gianlucacosta.balmung.lexicon.Genus;
+import info.gianlucacosta.balmung.lexicon.Lemma;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class BinaryLemmaRecord {
+    private final BinaryLexicon lexicon;
+    private final int position;
+
+
+    BinaryLemmaRecord(BinaryLexicon lexicon, int position) {
+        this.lexicon = lexicon;
+        this.position = position;
+    }
+
+
+    public Class<? extends Lemma> getLemmaClass() {
+        return LemmaCodec.getLemmaClass(
+                LemmaCodec.readKind(lexicon.getBuffer(), position)
+        );
+    }
+
+
+    public String getExpression() {
+        return lexicon.getString(
+                LemmaCodec.readExpressionId(lexicon.getBuffer(), position)
+        );
+    }
+
+
+    public Optional<String> getPronunciationOption() {
+        return Optional.ofNullable(
+                lexicon.getString(
+                        LemmaCodec.readPronunciationId(lexicon.getBuffer(), position)
+                )
+        );
+    }
+
+
+    public Set<String> getCategories() {
+        return Collections.unmodifiableSet(
+                new HashSet<>(
+                        readStrings(LemmaCodec.getCategoriesPosition(position))
+                )
+        );
+    }
+
+
+    public int getSyllablesCount() {
+        ByteBuffer buffer = lexicon.getBuffer();
+
+        return LemmaCodec.readStringsCount(
+                buffer,
+                LemmaCodec.getSyllablesPosition(buffer, position)
+        );
+    }
+
+
+    public Optional<Genus> getGenusOption() {
+        return LemmaCodec.readGenusOption(lexicon.getBuffer(), position);
+    }
+
+
+    public Lemma toLemma() {
+        return LemmaCodec.decode(
+                lexicon.getBuffer(),
+                position,
+                lexicon::getString
+        );
+    }
+
+
+    private List<String> readStrings(int listPosition) {
+        ByteBuffer buffer = lexicon.getBuffer();
+
+        int stringsCount = LemmaCodec.readStringsCount(buffer, listPosition);
+
+        List<String> result = new ArrayList<>(stringsCount);
+
+        for (int i = 0; i < stringsCount; i++) {
+            result.add(
+                    lexicon.getString(
+                            LemmaCodec.readStringId(buffer, listPosition, i)
+                    )
+            );
+        }
+
+        return result;
+    }
+
+
+    @Override
+    public String toString() {
+        return "BinaryLemmaRecord{" +
+                "expression=" + getExpression() +
+                ", lemmaClass=" + getLemmaClass().getSimpleName() +
+                '}';
+    }
+}
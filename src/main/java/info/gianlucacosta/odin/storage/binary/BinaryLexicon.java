@@ -0,0 +1,326 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.binary;
+
+import info.gianlucacosta.balmung.lexicon.Adjective;
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.balmung.lexicon.Noun;
+import info.gianlucacosta.balmung.lexicon.Verb;
+import info.gianlucacosta.odin.storage.NounGender;
+import info.gianlucacosta.odin.storage.ReadOnlyLexicon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class BinaryLexicon implements ReadOnlyLexicon {
+    static final int MAGIC_NUMBER = 0x4F444E4C;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 28;
+
+
+    public static BinaryLexicon open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Binary lexicons larger than 2 GB are not supported");
+            }
+
+            return new BinaryLexicon(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+            );
+        } catch (IOException ex) {
+            throw new RuntimeException("Error while opening the binary lexicon", ex);
+        }
+    }
+
+
+    private final ByteBuffer buffer;
+    private final int stringsCount;
+    private final int recordsCount;
+    private final int stringDataPosition;
+    private final int recordOffsetsPosition;
+    private final int recordDataPosition;
+
+
+    BinaryLexicon(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC_NUMBER) {
+            throw new IllegalArgumentException("Not a binary lexicon");
+        }
+
+        int formatVersion = buffer.getInt(4);
+
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalArgumentException(
+                    String.format("Unsupported binary lexicon version: %d", formatVersion)
+            );
+        }
+
+        this.buffer = buffer;
+        this.stringsCount = buffer.getInt(8);
+        this.recordsCount = buffer.getInt(12);
+        this.stringDataPosition = buffer.getInt(16);
+        this.recordOffsetsPosition = buffer.getInt(20);
+        this.recordDataPosition = buffer.getInt(24);
+    }
+
+
+    public int getLemmasCount() {
+        return recordsCount;
+    }
+
+
+    public Stream<BinaryLemmaRecord> streamRecords() {
+        return streamRecords(0, recordsCount);
+    }
+
+
+    private Stream<BinaryLemmaRecord> streamRecords(int fromIndex, int toIndex) {
+        return IntStream
+                .range(fromIndex, toIndex)
+                .mapToObj(this::getRecord);
+    }
+
+
+    public Stream<BinaryLemmaRecord> findRecordsByPrefix(String prefix) {
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+
+        int fromIndex = findLowerBound(prefixBytes);
+        int toIndex = fromIndex;
+
+        while (toIndex < recordsCount && expressionStartsWith(toIndex, prefixBytes)) {
+            toIndex++;
+        }
+
+        return streamRecords(fromIndex, toIndex);
+    }
+
+
+    public List<BinaryLemmaRecord> findRecordsByExpression(String expression) {
+        byte[] expressionBytes = expression.getBytes(StandardCharsets.UTF_8);
+
+        int fromIndex = findLowerBound(expressionBytes);
+        int toIndex = fromIndex;
+
+        while (toIndex < recordsCount && compareExpression(toIndex, expressionBytes) == 0) {
+            toIndex++;
+        }
+
+        return streamRecords(fromIndex, toIndex)
+                .collect(Collectors.toList());
+    }
+
+
+    private BinaryLemmaRecord getRecord(int index) {
+        return new BinaryLemmaRecord(this, getRecordPosition(index));
+    }
+
+
+    private int getRecordPosition(int index) {
+        return recordDataPosition + buffer.getInt(recordOffsetsPosition + 4 * index);
+    }
+
+
+    private int findLowerBound(byte[] keyBytes) {
+        int low = 0;
+        int high = recordsCount;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (compareExpression(middle, keyBytes) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+
+    private int getExpressionId(int index) {
+        return LemmaCodec.readExpressionId(buffer, getRecordPosition(index));
+    }
+
+
+    private int compareExpression(int index, byte[] keyBytes) {
+        int expressionId = getExpressionId(index);
+
+        int stringPosition = getStringPosition(expressionId);
+        int stringLength = getStringLength(expressionId);
+        int commonLength = Math.min(stringLength, keyBytes.length);
+
+        for (int i = 0; i < commonLength; i++) {
+            int comparison = Integer.compare(
+                    buffer.get(stringPosition + i) & 0xFF,
+                    keyBytes[i] & 0xFF
+            );
+
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+
+        return Integer.compare(stringLength, keyBytes.length);
+    }
+
+
+    private boolean expressionStartsWith(int index, byte[] prefixBytes) {
+        int expressionId = getExpressionId(index);
+
+        if (getStringLength(expressionId) < prefixBytes.length) {
+            return false;
+        }
+
+        int stringPosition = getStringPosition(expressionId);
+
+        for (int i = 0; i < prefixBytes.length; i++) {
+            if (buffer.get(stringPosition + i) != prefixBytes[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+
+    String getString(int stringId) {
+        if (stringId == LemmaCodec.NO_STRING) {
+            return null;
+        }
+
+        if (stringId < 0 || stringId >= stringsCount) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid string id: %d", stringId)
+            );
+        }
+
+        byte[] stringBytes = new byte[getStringLength(stringId)];
+
+        ByteBuffer stringBuffer = buffer.duplicate();
+        stringBuffer.position(getStringPosition(stringId));
+        stringBuffer.get(stringBytes);
+
+        return new String(stringBytes, StandardCharsets.UTF_8);
+    }
+
+
+    private int getStringPosition(int stringId) {
+        return stringDataPosition + buffer.getInt(HEADER_SIZE + 4 * stringId);
+    }
+
+
+    private int getStringLength(int stringId) {
+        return buffer.getInt(HEADER_SIZE + 4 * (stringId + 1)) - buffer.getInt(HEADER_SIZE + 4 * stringId);
+    }
+
+
+    @Override
+    public Stream<Lemma> findLemmas() {
+        return streamRecords()
+                .map(BinaryLemmaRecord::toLemma);
+    }
+
+
+    @Override
+    public Stream<Noun> findNouns() {
+        return findLemmas(Noun.class);
+    }
+
+
+    @Override
+    public Stream<Verb> findVerbs() {
+        return findLemmas(Verb.class);
+    }
+
+
+    @Override
+    public Stream<Adjective> findAdjectives() {
+        return findLemmas(Adjective.class);
+    }
+
+
+    private <T extends Lemma> Stream<T> findLemmas(Class<T> lemmaClass) {
+        return streamRecords()
+                .filter(record -> record.getLemmaClass() == lemmaClass)
+                .map(BinaryLemmaRecord::toLemma)
+                .map(lemmaClass::cast);
+    }
+
+
+    public Stream<Lemma> findLemmasByPrefix(String prefix) {
+        return findRecordsByPrefix(prefix)
+                .map(BinaryLemmaRecord::toLemma);
+    }
+
+
+    @Override
+    public Stream<String> streamExpressions() {
+        return IntStream.range(0, recordsCount)
+                .filter(index -> index == 0 || getExpressionId(index) != getExpressionId(index - 1))
+                .mapToObj(index -> getString(getExpressionId(index)));
+    }
+
+
+    @Override
+    public Stream<NounGender> streamNounGenders() {
+        return streamRecords()
+                .filter(record -> record.getLemmaClass() == Noun.class)
+                .map(record ->
+                        new NounGender(
+                                record.getExpression(),
+                                record.getGenusOption()
+                        )
+                );
+    }
+
+
+    @Override
+    public List<Lemma> findByExpression(String expression) {
+        return findRecordsByExpression(expression)
+                .stream()
+                .map(BinaryLemmaRecord::toLemma)
+                .collect(Collectors.toList());
+    }
+
+
+    @Override
+    public String toString() {
+        return "BinaryLexicon{" +
+                "recordsCount=" + recordsCount +
+                ", stringsCount=" + stringsCount +
+                '}';
+    }
+}
@@ -0,0 +1,186 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.binary;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.odin.storage.LemmaCollector;
+import info.gianlucacosta.odin.storage.LemmaSaver;
+import info.gianlucacosta.odin.storage.Lexicon;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BinaryLexiconBuilder implements LemmaSaver {
+    private static final Comparator<byte[]> UTF8_BYTES_COMPARATOR = (left, right) -> {
+        int commonLength = Math.min(left.length, right.length);
+
+        for (int i = 0; i < commonLength; i++) {
+            int comparison = Integer.compare(left[i] & 0xFF, right[i] & 0xFF);
+
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+
+        return Integer.compare(left.length, right.length);
+    };
+
+
+    private final LemmaCollector lemmas = new LemmaCollector();
+
+
+    @Override
+    public boolean save(Lemma lemma) {
+        return lemmas.save(lemma);
+    }
+
+
+    public BinaryLexiconBuilder addAll(Lexicon lexicon) {
+        lemmas.addAll(lexicon);
+
+        return this;
+    }
+
+
+    public int getLemmasCount() {
+        return lemmas.getLemmasCount();
+    }
+
+
+    public void writeTo(Path path) {
+        List<Lemma> sortedLemmas = sortByExpression();
+
+        Map<String, Integer> stringIds = new LinkedHashMap<>();
+
+        ByteArrayOutputStream recordData = new ByteArrayOutputStream();
+        DataOutputStream recordOutput = new DataOutputStream(recordData);
+        int[] recordOffsets = new int[sortedLemmas.size() + 1];
+
+        try {
+            for (int i = 0; i < sortedLemmas.size(); i++) {
+                recordOffsets[i] = recordOutput.size();
+
+                LemmaCodec.encode(
+                        sortedLemmas.get(i),
+                        recordOutput,
+                        string -> stringIds.computeIfAbsent(string, newString -> stringIds.size())
+                );
+            }
+
+            recordOffsets[sortedLemmas.size()] = recordOutput.size();
+        } catch (IOException ex) {
+            throw new RuntimeException("Error while encoding the lemmas", ex);
+        }
+
+        ByteArrayOutputStream stringData = new ByteArrayOutputStream();
+        int[] stringOffsets = new int[stringIds.size() + 1];
+        int stringIndex = 0;
+
+        for (String string : stringIds.keySet()) {
+            stringOffsets[stringIndex] = stringData.size();
+
+            byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
+            stringData.write(stringBytes, 0, stringBytes.length);
+
+            stringIndex++;
+        }
+
+        stringOffsets[stringIds.size()] = stringData.size();
+
+        int stringDataPosition = BinaryLexicon.HEADER_SIZE + 4 * stringOffsets.length;
+        int recordOffsetsPosition = stringDataPosition + stringData.size();
+        int recordDataPosition = recordOffsetsPosition + 4 * recordOffsets.length;
+
+        if ((long) recordDataPosition + recordData.size() > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Binary lexicons larger than 2 GB are not supported");
+        }
+
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try {
+            try (DataOutputStream output =
+                         new DataOutputStream(
+                                 new BufferedOutputStream(
+                                         Files.newOutputStream(temporaryPath)
+                                 )
+                         )) {
+                output.writeInt(BinaryLexicon.MAGIC_NUMBER);
+                output.writeInt(BinaryLexicon.FORMAT_VERSION);
+                output.writeInt(stringIds.size());
+                output.writeInt(sortedLemmas.size());
+                output.writeInt(stringDataPosition);
+                output.writeInt(recordOffsetsPosition);
+                output.writeInt(recordDataPosition);
+
+                for (int stringOffset : stringOffsets) {
+                    output.writeInt(stringOffset);
+                }
+
+                stringData.writeTo(output);
+
+                for (int recordOffset : recordOffsets) {
+                    output.writeInt(recordOffset);
+                }
+
+                recordData.writeTo(output);
+            }
+
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error while writing the binary lexicon", ex);
+        }
+    }
+
+
+    private List<Lemma> sortByExpression() {
+        List<Lemma> collectedLemmas = lemmas.getLemmas();
+        List<Map.Entry<byte[], Lemma>> keyedLemmas = new ArrayList<>(collectedLemmas.size());
+
+        collectedLemmas.forEach(lemma ->
+                keyedLemmas.add(
+                        new AbstractMap.SimpleImmutableEntry<>(
+                                lemma.getExpression().getBytes(StandardCharsets.UTF_8),
+                                lemma
+                        )
+                )
+        );
+
+        keyedLemmas.sort(Map.Entry.comparingByKey(UTF8_BYTES_COMPARATOR));
+
+        List<Lemma> result = new ArrayList<>(keyedLemmas.size());
+        keyedLemmas.forEach(keyedLemma -> result.add(keyedLemma.getValue()));
+
+        return result;
+    }
+}
@@ -0,0 +1,411 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.binary;
+
+import info.gianlucacosta.balmung.lexicon.Adjective;
+import info.gianlucacosta.balmung.lexicon.Genus;
+import info.gianlucacosta.balmung.lexicon.Kasus;
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.balmung.lexicon.Noun;
+import info.gianlucacosta.balmung.lexicon.NounDeclension;
+import info.gianlucacosta.balmung.lexicon.Numerus;
+import info.gianlucacosta.balmung.lexicon.Verb;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+class LemmaCodec {
+    static final byte LEMMA_KIND = 0;
+    static final byte NOUN_KIND = 1;
+    static final byte VERB_KIND = 2;
+    static final byte ADJECTIVE_KIND = 3;
+
+    static final int NO_STRING = -1;
+
+    private static final byte NO_GENUS = -1;
+
+    private static final Genus[] GENERA = Genus.values();
+
+    private static final int STRING_LISTS_COUNT = 5;
+
+    private static final int EXPRESSION_OFFSET = 1;
+    private static final int PRONUNCIATION_OFFSET = 5;
+    private static final int CATEGORIES_OFFSET = 9;
+
+
+    static byte getKind(Lemma lemma) {
+        if (lemma instanceof Noun) {
+            return NOUN_KIND;
+        } else if (lemma instanceof Verb) {
+            return VERB_KIND;
+        } else if (lemma instanceof Adjective) {
+            return ADJECTIVE_KIND;
+        } else {
+            return LEMMA_KIND;
+        }
+    }
+
+
+    static Class<? extends Lemma> getLemmaClass(byte kind) {
+        switch (kind) {
+            case LEMMA_KIND:
+                return Lemma.class;
+
+            case NOUN_KIND:
+                return Noun.class;
+
+            case VERB_KIND:
+                return Verb.class;
+
+            case ADJECTIVE_KIND:
+                return Adjective.class;
+
+            default:
+                throw new IllegalArgumentException(
+                        String.format("Unknown lemma kind: %d", kind)
+                );
+        }
+    }
+
+
+    static byte encodeGenus(Optional<Genus> genusOption) {
+        return genusOption
+                .map(genus -> (byte) genus.ordinal())
+                .orElse(NO_GENUS);
+    }
+
+
+    static Optional<Genus> decodeGenus(byte genusCode) {
+        return genusCode == NO_GENUS ?
+                Optional.empty()
+                :
+                Optional.of(GENERA[genusCode]);
+    }
+
+
+    static void encode(Lemma lemma, DataOutput output, ToIntFunction<String> stringIds) throws IOException {
+        byte kind = getKind(lemma);
+
+        output.writeByte(kind);
+        output.writeInt(stringIds.applyAsInt(lemma.getExpression()));
+        writeOptionalString(output, lemma.getPronunciationOption(), stringIds);
+
+        writeStrings(output, lemma.getCategories(), stringIds);
+        writeStrings(output, lemma.getSyllables(), stringIds);
+        writeStrings(output, lemma.getSynonyms(), stringIds);
+        writeStrings(output, lemma.getAntonyms(), stringIds);
+        writeStrings(output, lemma.getHypernyms(), stringIds);
+
+        switch (kind) {
+            case NOUN_KIND:
+                Noun noun = (Noun) lemma;
+
+                output.writeByte(encodeGenus(noun.getGenusOption()));
+                writeDeclension(output, noun.getDeclension(), stringIds);
+
+                Optional<NounDeclension> alternativeDeclensionOption = noun.getAlternativeDeclensionOption();
+                output.writeBoolean(alternativeDeclensionOption.isPresent());
+
+                if (alternativeDeclensionOption.isPresent()) {
+                    writeDeclension(output, alternativeDeclensionOption.get(), stringIds);
+                }
+                break;
+
+            case VERB_KIND:
+                Verb verb = (Verb) lemma;
+
+                writeOptionalString(output, verb.getPraesensOption(), stringIds);
+                writeOptionalString(output, verb.getPraeteritumOption(), stringIds);
+                writeOptionalString(output, verb.getPartizipPerfektOption(), stringIds);
+                writeOptionalString(output, verb.getImperativSingularOption(), stringIds);
+                break;
+
+            case ADJECTIVE_KIND:
+                Adjective adjective = (Adjective) lemma;
+
+                writeOptionalString(output, adjective.getComparativeOption(), stringIds);
+                writeOptionalString(output, adjective.getSuperlativeOption(), stringIds);
+                break;
+        }
+    }
+
+
+    private static void writeOptionalString(DataOutput output, Optional<String> stringOption, ToIntFunction<String> stringIds) throws IOException {
+        output.writeInt(
+                stringOption
+                        .map(stringIds::applyAsInt)
+                        .orElse(NO_STRING)
+        );
+    }
+
+
+    private static void writeStrings(DataOutput output, Collection<String> strings, ToIntFunction<String> stringIds) throws IOException {
+        output.writeInt(strings.size());
+
+        for (String string : strings) {
+            output.writeInt(stringIds.applyAsInt(string));
+        }
+    }
+
+
+    private static void writeDeclension(DataOutput output, NounDeclension declension, ToIntFunction<String> stringIds) throws IOException {
+        for (Numerus numerus : Numerus.values()) {
+            for (Kasus kasus : Kasus.values()) {
+                writeOptionalString(output, declension.getExpressionOption(numerus, kasus), stringIds);
+            }
+        }
+    }
+
+
+    static byte readKind(ByteBuffer buffer, int position) {
+        return buffer.get(position);
+    }
+
+
+    static int readExpressionId(ByteBuffer buffer, int position) {
+        return buffer.getInt(position + EXPRESSION_OFFSET);
+    }
+
+
+    static int readPronunciationId(ByteBuffer buffer, int position) {
+        return buffer.getInt(position + PRONUNCIATION_OFFSET);
+    }
+
+
+    static int getCategoriesPosition(int position) {
+        return position + CATEGORIES_OFFSET;
+    }
+
+
+    static int getSyllablesPosition(ByteBuffer buffer, int position) {
+        return skipStrings(buffer, getCategoriesPosition(position));
+    }
+
+
+    static int readStringsCount(ByteBuffer buffer, int listPosition) {
+        return buffer.getInt(listPosition);
+    }
+
+
+    static int readStringId(ByteBuffer buffer, int listPosition, int index) {
+        return buffer.getInt(listPosition + 4 + 4 * index);
+    }
+
+
+    static Optional<Genus> readGenusOption(ByteBuffer buffer, int position) {
+        if (readKind(buffer, position) != NOUN_KIND) {
+            return Optional.empty();
+        }
+
+        return decodeGenus(buffer.get(getSpecificFieldsPosition(buffer, position)));
+    }
+
+
+    private static int getSpecificFieldsPosition(ByteBuffer buffer, int position) {
+        int fieldPosition = getCategoriesPosition(position);
+
+        for (int i = 0; i < STRING_LISTS_COUNT; i++) {
+            fieldPosition = skipStrings(buffer, fieldPosition);
+        }
+
+        return fieldPosition;
+    }
+
+
+    private static int skipStrings(ByteBuffer buffer, int listPosition) {
+        return listPosition + 4 + 4 * readStringsCount(buffer, listPosition);
+    }
+
+
+    static Lemma decode(ByteBuffer buffer, int position, IntFunction<String> strings) {
+        Decoder decoder = new Decoder(buffer, position, strings);
+
+        byte kind = decoder.readByte();
+        String expression = decoder.readString();
+        Optional<String> pronunciationOption = decoder.readOptionalString();
+
+        Set<String> categories = new HashSet<>(decoder.readStrings());
+        List<String> syllables = decoder.readStrings();
+        Set<String> synonyms = new HashSet<>(decoder.readStrings());
+        Set<String> antonyms = new HashSet<>(decoder.readStrings());
+        Set<String> hypernyms = new HashSet<>(decoder.readStrings());
+
+        switch (kind) {
+            case LEMMA_KIND:
+                return new Lemma(
+                        expression,
+                        categories,
+                        syllables,
+                        pronunciationOption,
+                        synonyms,
+                        antonyms,
+                        hypernyms
+                );
+
+            case NOUN_KIND:
+                Optional<Genus> genusOption = decodeGenus(decoder.readByte());
+                NounDeclension declension = decoder.readDeclension().get();
+                Optional<NounDeclension> alternativeDeclensionOption =
+                        decoder.readByte() != 0 ?
+                                decoder.readDeclension()
+                                :
+                                Optional.empty();
+
+                return new Noun(
+                        expression,
+                        categories,
+                        syllables,
+                        pronunciationOption,
+                        synonyms,
+                        antonyms,
+                        hypernyms,
+                        genusOption,
+                        declension,
+                        alternativeDeclensionOption
+                );
+
+            case VERB_KIND:
+                return new Verb(
+                        expression,
+                        categories,
+                        syllables,
+                        pronunciationOption,
+                        synonyms,
+                        antonyms,
+                        hypernyms,
+                        decoder.readOptionalString(),
+                        decoder.readOptionalString(),
+                        decoder.readOptionalString(),
+                        decoder.readOptionalString()
+                );
+
+            case ADJECTIVE_KIND:
+                return new Adjective(
+                        expression,
+                        categories,
+                        syllables,
+                        pronunciationOption,
+                        synonyms,
+                        antonyms,
+                        hypernyms,
+                        decoder.readOptionalString(),
+                        decoder.readOptionalString()
+                );
+
+            default:
+                throw new IllegalArgumentException(
+                        String.format("Unknown lemma kind: %d", kind)
+                );
+        }
+    }
+
+
+    private static class Decoder {
+        private final ByteBuffer buffer;
+        private final IntFunction<String> strings;
+        private int position;
+
+
+        Decoder(ByteBuffer buffer, int position, IntFunction<String> strings) {
+            this.buffer = buffer;
+            this.position = position;
+            this.strings = strings;
+        }
+
+
+        byte readByte() {
+            byte result = buffer.get(position);
+            position++;
+            return result;
+        }
+
+
+        int readInt() {
+            int result = buffer.getInt(position);
+            position += 4;
+            return result;
+        }
+
+
+        String readString() {
+            return strings.apply(readInt());
+        }
+
+
+        Optional<String> readOptionalString() {
+            int stringId = readInt();
+
+            return stringId == NO_STRING ?
+                    Optional.empty()
+                    :
+                    Optional.of(strings.apply(stringId));
+        }
+
+
+        List<String> readStrings() {
+            int stringsCount = readInt();
+
+            if (stringsCount == 0) {
+                return Collections.emptyList();
+            }
+
+            List<String> result = new ArrayList<>(stringsCount);
+
+            for (int i = 0; i < stringsCount; i++) {
+                result.add(readString());
+            }
+
+            return result;
+        }
+
+
+        Optional<NounDeclension> readDeclension() {
+            Map<Numerus, Map<Kasus, String>> declensionMap = new EnumMap<>(Numerus.class);
+
+            for (Numerus numerus : Numerus.values()) {
+                Map<Kasus, String> kasusMap = new EnumMap<>(Kasus.class);
+
+                for (Kasus kasus : Kasus.values()) {
+                    readOptionalString().ifPresent(form ->
+                            kasusMap.put(kasus, form)
+                    );
+                }
+
+                declensionMap.put(numerus, kasusMap);
+            }
+
+            return NounDeclension.createOption(declensionMap);
+        }
+    }
+}
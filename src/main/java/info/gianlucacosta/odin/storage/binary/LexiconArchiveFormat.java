@@ -0,0 +1,181 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.binary;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+class LexiconArchiveFormat {
+    static final int MAGIC_NUMBER = 0x4F444E58;
+    static final int FORMAT_VERSION = 1;
+
+    static final int END_OF_CHUNKS = 0;
+
+    static final int MAX_PENDING_CHUNKS = 2 * Runtime.getRuntime().availableProcessors();
+
+
+    static byte[] encodeChunk(List<Lemma> lemmas) {
+        Map<String, Integer> stringIds = new LinkedHashMap<>();
+
+        ByteArrayOutputStream recordsData = new ByteArrayOutputStream();
+        DataOutputStream recordsOutput = new DataOutputStream(recordsData);
+
+        ByteArrayOutputStream recordData = new ByteArrayOutputStream();
+        DataOutputStream recordOutput = new DataOutputStream(recordData);
+
+        try {
+            for (Lemma lemma : lemmas) {
+                recordData.reset();
+
+                LemmaCodec.encode(
+                        lemma,
+                        recordOutput,
+                        string -> stringIds.computeIfAbsent(string, newString -> stringIds.size())
+                );
+
+                recordsOutput.writeInt(recordData.size());
+                recordData.writeTo(recordsOutput);
+            }
+
+            ByteArrayOutputStream chunkData = new ByteArrayOutputStream(recordsData.size() + 16 * stringIds.size());
+            DataOutputStream chunkOutput = new DataOutputStream(chunkData);
+
+            chunkOutput.writeInt(stringIds.size());
+
+            for (String string : stringIds.keySet()) {
+                byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
+
+                chunkOutput.writeInt(stringBytes.length);
+                chunkOutput.write(stringBytes);
+            }
+
+            chunkOutput.writeInt(lemmas.size());
+            recordsData.writeTo(chunkOutput);
+
+            return chunkData.toByteArray();
+        } catch (IOException ex) {
+            throw new RuntimeException("Error while encoding the lemmas", ex);
+        }
+    }
+
+
+    static List<Lemma> decodeChunk(byte[] chunkBytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(chunkBytes);
+
+        String[] strings = new String[buffer.getInt()];
+
+        for (int i = 0; i < strings.length; i++) {
+            int stringLength = buffer.getInt();
+
+            strings[i] = new String(chunkBytes, buffer.position(), stringLength, StandardCharsets.UTF_8);
+
+            buffer.position(buffer.position() + stringLength);
+        }
+
+        int lemmasCount = buffer.getInt();
+
+        List<Lemma> lemmas = new ArrayList<>(lemmasCount);
+
+        for (int i = 0; i < lemmasCount; i++) {
+            int recordLength = buffer.getInt();
+            int recordPosition = buffer.position();
+
+            lemmas.add(
+                    LemmaCodec.decode(
+                            buffer,
+                            recordPosition,
+                            stringId -> strings[stringId]
+                    )
+            );
+
+            buffer.position(recordPosition + recordLength);
+        }
+
+        return lemmas;
+    }
+
+
+    static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            ByteArrayOutputStream compressedData = new ByteArrayOutputStream(data.length / 2 + 64);
+            byte[] block = new byte[8192];
+
+            while (!deflater.finished()) {
+                int blockLength = deflater.deflate(block);
+                compressedData.write(block, 0, blockLength);
+            }
+
+            return compressedData.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+
+    static byte[] decompress(byte[] compressedData, int dataLength) {
+        Inflater inflater = new Inflater();
+
+        try {
+            inflater.setInput(compressedData);
+
+            byte[] data = new byte[dataLength];
+            int inflatedLength = 0;
+
+            while (inflatedLength < dataLength && !inflater.finished()) {
+                int blockLength = inflater.inflate(data, inflatedLength, dataLength - inflatedLength);
+
+                if (blockLength == 0 && inflater.needsInput()) {
+                    break;
+                }
+
+                inflatedLength += blockLength;
+            }
+
+            if (inflatedLength != dataLength) {
+                throw new IllegalArgumentException("Truncated lexicon archive chunk");
+            }
+
+            return data;
+        } catch (DataFormatException ex) {
+            throw new IllegalArgumentException("Corrupted lexicon archive chunk", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.binary;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.odin.storage.Lexicon;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+public class LexiconExporter {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final boolean compressed;
+    private final int chunkSize;
+
+
+    public LexiconExporter() {
+        this(true);
+    }
+
+
+    public LexiconExporter(boolean compressed) {
+        this(compressed, DEFAULT_CHUNK_SIZE);
+    }
+
+
+    public LexiconExporter(boolean compressed, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be > 0");
+        }
+
+        this.compressed = compressed;
+        this.chunkSize = chunkSize;
+    }
+
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+
+    public long export(Lexicon lexicon, OutputStream outputStream) {
+        DataOutputStream output =
+                new DataOutputStream(
+                        new BufferedOutputStream(outputStream)
+                );
+
+        Deque<CompletableFuture<EncodedChunk>> pendingChunks = new ArrayDeque<>();
+
+        long exportedLemmasCount = 0;
+
+        try (Stream<Lemma> lemmas = lexicon.findLemmas()) {
+            output.writeInt(LexiconArchiveFormat.MAGIC_NUMBER);
+            output.writeInt(LexiconArchiveFormat.FORMAT_VERSION);
+            output.writeBoolean(compressed);
+
+            Iterator<Lemma> lemmasIterator = lemmas.iterator();
+
+            while (lemmasIterator.hasNext()) {
+                List<Lemma> chunkLemmas = new ArrayList<>(chunkSize);
+
+                while (lemmasIterator.hasNext() && chunkLemmas.size() < chunkSize) {
+                    chunkLemmas.add(lemmasIterator.next());
+                }
+
+                exportedLemmasCount += chunkLemmas.size();
+
+                pendingChunks.add(
+                        CompletableFuture.supplyAsync(() -> encodeChunk(chunkLemmas))
+                );
+
+                if (pendingChunks.size() >= LexiconArchiveFormat.MAX_PENDING_CHUNKS) {
+                    writeChunk(output, pendingChunks.remove().join());
+                }
+            }
+
+            while (!pendingChunks.isEmpty()) {
+                writeChunk(output, pendingChunks.remove().join());
+            }
+
+            output.writeInt(LexiconArchiveFormat.END_OF_CHUNKS);
+            output.flush();
+        } catch (IOException ex) {
+            throw new RuntimeException("Error while exporting the lexicon", ex);
+        }
+
+        return exportedLemmasCount;
+    }
+
+
+    private EncodedChunk encodeChunk(List<Lemma> chunkLemmas) {
+        byte[] chunkData = LexiconArchiveFormat.encodeChunk(chunkLemmas);
+
+        return new EncodedChunk(
+                chunkLemmas.size(),
+                chunkData.length,
+                compressed ?
+                        LexiconArchiveFormat.compress(chunkData)
+                        :
+                        chunkData
+        );
+    }
+
+
+    private static void writeChunk(DataOutputStream output, EncodedChunk chunk) throws IOException {
+        output.writeInt(chunk.lemmasCount);
+        output.writeInt(chunk.dataLength);
+        output.writeInt(chunk.storedData.length);
+        output.write(chunk.storedData);
+    }
+
+
+    private static class EncodedChunk {
+        final int lemmasCount;
+        final int dataLength;
+        final byte[] storedData;
+
+
+        EncodedChunk(int lemmasCount, int dataLength, byte[] storedData) {
+            this.lemmasCount = lemmasCount;
+            this.dataLength = dataLength;
+            this.storedData = storedData;
+        }
+    }
+}
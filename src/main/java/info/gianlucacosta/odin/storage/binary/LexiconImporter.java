@@ -0,0 +1,108 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.binary;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.odin.storage.LemmaSaver;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class LexiconImporter {
+    public long importInto(InputStream inputStream, LemmaSaver lemmaSaver) {
+        DataInputStream input =
+                new DataInputStream(
+                        new BufferedInputStream(inputStream)
+                );
+
+        Deque<CompletableFuture<List<Lemma>>> pendingChunks = new ArrayDeque<>();
+
+        long savedLemmasCount = 0;
+
+        try {
+            if (input.readInt() != LexiconArchiveFormat.MAGIC_NUMBER) {
+                throw new IllegalArgumentException("Not a lexicon archive");
+            }
+
+            int formatVersion = input.readInt();
+
+            if (formatVersion != LexiconArchiveFormat.FORMAT_VERSION) {
+                throw new IllegalArgumentException(
+                        String.format("Unsupported lexicon archive version: %d", formatVersion)
+                );
+            }
+
+            boolean compressed = input.readBoolean();
+
+            while (true) {
+                int lemmasCount = input.readInt();
+
+                if (lemmasCount == LexiconArchiveFormat.END_OF_CHUNKS) {
+                    break;
+                }
+
+                int dataLength = input.readInt();
+                byte[] storedData = new byte[input.readInt()];
+                input.readFully(storedData);
+
+                pendingChunks.add(
+                        CompletableFuture.supplyAsync(() ->
+                                LexiconArchiveFormat.decodeChunk(
+                                        compressed ?
+                                                LexiconArchiveFormat.decompress(storedData, dataLength)
+                                                :
+                                                storedData
+                                )
+                        )
+                );
+
+                if (pendingChunks.size() >= LexiconArchiveFormat.MAX_PENDING_CHUNKS) {
+                    savedLemmasCount += lemmaSaver.saveAll(awaitChunk(pendingChunks.remove()));
+                }
+            }
+
+            while (!pendingChunks.isEmpty()) {
+                savedLemmasCount += lemmaSaver.saveAll(awaitChunk(pendingChunks.remove()));
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Error while importing the lexicon", ex);
+        }
+
+        return savedLemmasCount;
+    }
+
+
+    private static List<Lemma> awaitChunk(CompletableFuture<List<Lemma>> pendingChunk) throws IOException {
+        try {
+            return pendingChunk.join();
+        } catch (CompletionException ex) {
+            throw new IOException("Corrupt lexicon archive chunk", ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,744 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.columnar;
+
+import info.gianlucacosta.balmung.lexicon.Adjective;
+import info.gianlucacosta.balmung.lexicon.Genus;
+import info.gianlucacosta.balmung.lexicon.Kasus;
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.balmung.lexicon.Noun;
+import info.gianlucacosta.balmung.lexicon.NounDeclension;
+import info.gianlucacosta.balmung.lexicon.Numerus;
+import info.gianlucacosta.balmung.lexicon.Verb;
+import info.gianlucacosta.odin.storage.LemmaCriteria;
+import info.gianlucacosta.odin.storage.LexiconStatistics;
+import info.gianlucacosta.odin.storage.NounGender;
+import info.gianlucacosta.odin.storage.ReadOnlyLexicon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class ColumnarLexicon implements ReadOnlyLexicon {
+    private static final byte LEMMA_KIND = 0;
+    private static final byte NOUN_KIND = 1;
+    private static final byte VERB_KIND = 2;
+    private static final byte ADJECTIVE_KIND = 3;
+
+    private static final byte NO_GENUS = -1;
+
+    private static final Genus[] GENERA = Genus.values();
+
+    private static final List<Optional<Genus>> GENUS_OPTIONS;
+
+    static {
+        List<Optional<Genus>> genusOptions = new ArrayList<>();
+
+        genusOptions.add(Optional.empty());
+
+        for (Genus genus : GENERA) {
+            genusOptions.add(Optional.of(genus));
+        }
+
+        GENUS_OPTIONS = Collections.unmodifiableList(genusOptions);
+    }
+
+    private static final int KASUS_COUNT = Kasus.values().length;
+    private static final int DECLENSION_FORMS_COUNT = Numerus.values().length * KASUS_COUNT;
+    private static final int VERB_FORMS_COUNT = 4;
+    private static final int ADJECTIVE_FORMS_COUNT = 2;
+
+    private static final int NOMINATIV_SINGULAR_FORM =
+            getDeclensionFormIndex(Numerus.SINGULAR, Kasus.NOMINATIV);
+
+    private static final int NOMINATIV_PLURAL_FORM =
+            getDeclensionFormIndex(Numerus.PLURAL, Kasus.NOMINATIV);
+
+
+    private static int getDeclensionFormIndex(Numerus numerus, Kasus kasus) {
+        return numerus.ordinal() * KASUS_COUNT + kasus.ordinal();
+    }
+
+
+    private final int lemmasCount;
+
+    private final byte[] kinds;
+    private final byte[] genusCodes;
+    private final int[] wordClassRows;
+
+    private final StringPool expressions;
+    private final int[] expressionIds;
+
+    private final StringPool forms;
+    private final int[] pronunciationIds;
+    private final IntListColumn syllables;
+    private final IntListColumn synonyms;
+    private final IntListColumn antonyms;
+    private final IntListColumn hypernyms;
+
+    private final String[] categoryNames;
+    private final Map<String, Integer> categoryIndexes;
+    private final IntListColumn categories;
+    private final BitSet[] categoryMembers;
+
+    private final int[] declensionForms;
+    private final int[] alternativeDeclensionForms;
+    private final BitSet alternativeDeclensions;
+    private final int[] verbForms;
+    private final int[] adjectiveForms;
+
+    private final int[] wordClassCounts = new int[ADJECTIVE_KIND + 1];
+
+
+    ColumnarLexicon(List<Lemma> sortedLemmas) {
+        lemmasCount = sortedLemmas.size();
+
+        kinds = new byte[lemmasCount];
+        genusCodes = new byte[lemmasCount];
+        wordClassRows = new int[lemmasCount];
+        expressionIds = new int[lemmasCount];
+        pronunciationIds = new int[lemmasCount];
+
+        StringPool.Builder expressionsBuilder = new StringPool.Builder();
+        StringPool.Builder formsBuilder = new StringPool.Builder();
+
+        IntListColumn.Builder syllablesBuilder = new IntListColumn.Builder(lemmasCount);
+        IntListColumn.Builder synonymsBuilder = new IntListColumn.Builder(lemmasCount);
+        IntListColumn.Builder antonymsBuilder = new IntListColumn.Builder(lemmasCount);
+        IntListColumn.Builder hypernymsBuilder = new IntListColumn.Builder(lemmasCount);
+        IntListColumn.Builder categoriesBuilder = new IntListColumn.Builder(lemmasCount);
+
+        Map<String, Integer> categoryIndexesMap = new HashMap<>();
+        List<BitSet> categoryMembersList = new ArrayList<>();
+
+        for (Lemma lemma : sortedLemmas) {
+            wordClassCounts[getKind(lemma)]++;
+        }
+
+        declensionForms = new int[wordClassCounts[NOUN_KIND] * DECLENSION_FORMS_COUNT];
+        alternativeDeclensionForms = new int[wordClassCounts[NOUN_KIND] * DECLENSION_FORMS_COUNT];
+        alternativeDeclensions = new BitSet(wordClassCounts[NOUN_KIND]);
+        verbForms = new int[wordClassCounts[VERB_KIND] * VERB_FORMS_COUNT];
+        adjectiveForms = new int[wordClassCounts[ADJECTIVE_KIND] * ADJECTIVE_FORMS_COUNT];
+
+        Arrays.fill(alternativeDeclensionForms, StringPool.NO_STRING);
+
+        int[] nextWordClassRows = new int[ADJECTIVE_KIND + 1];
+
+        for (int row = 0; row < lemmasCount; row++) {
+            Lemma lemma = sortedLemmas.get(row);
+            byte kind = getKind(lemma);
+
+            kinds[row] = kind;
+            genusCodes[row] = NO_GENUS;
+            wordClassRows[row] = nextWordClassRows[kind]++;
+            expressionIds[row] = expressionsBuilder.add(lemma.getExpression());
+            pronunciationIds[row] = formsBuilder.add(lemma.getPronunciationOption().orElse(null));
+
+            syllablesBuilder.addRow(lemma.getSyllables(), formsBuilder::add);
+            synonymsBuilder.addRow(lemma.getSynonyms(), formsBuilder::add);
+            antonymsBuilder.addRow(lemma.getAntonyms(), formsBuilder::add);
+            hypernymsBuilder.addRow(lemma.getHypernyms(), formsBuilder::add);
+
+            int currentRow = row;
+
+            categoriesBuilder.addRow(lemma.getCategories(), category -> {
+                int categoryIndex =
+                        categoryIndexesMap.computeIfAbsent(category, newCategory -> {
+                            categoryMembersList.add(new BitSet());
+                            return categoryMembersList.size() - 1;
+                        });
+
+                categoryMembersList.get(categoryIndex).set(currentRow);
+
+                return categoryIndex;
+            });
+
+            int wordClassRow = wordClassRows[row];
+
+            switch (kind) {
+                case NOUN_KIND:
+                    Noun noun = (Noun) lemma;
+
+                    genusCodes[row] = noun.getGenusOption()
+                            .map(genus -> (byte) genus.ordinal())
+                            .orElse(NO_GENUS);
+
+                    storeDeclension(noun.getDeclension(), declensionForms, wordClassRow, formsBuilder);
+
+                    noun.getAlternativeDeclensionOption().ifPresent(alternativeDeclension -> {
+                        alternativeDeclensions.set(wordClassRow);
+                        storeDeclension(alternativeDeclension, alternativeDeclensionForms, wordClassRow, formsBuilder);
+                    });
+                    break;
+
+                case VERB_KIND:
+                    Verb verb = (Verb) lemma;
+                    int verbFormsStart = wordClassRow * VERB_FORMS_COUNT;
+
+                    verbForms[verbFormsStart] = formsBuilder.add(verb.getPraesensOption().orElse(null));
+                    verbForms[verbFormsStart + 1] = formsBuilder.add(verb.getPraeteritumOption().orElse(null));
+                    verbForms[verbFormsStart + 2] = formsBuilder.add(verb.getPartizipPerfektOption().orElse(null));
+                    verbForms[verbFormsStart + 3] = formsBuilder.add(verb.getImperativSingularOption().orElse(null));
+                    break;
+
+                case ADJECTIVE_KIND:
+                    Adjective adjective = (Adjective) lemma;
+                    int adjectiveFormsStart = wordClassRow * ADJECTIVE_FORMS_COUNT;
+
+                    adjectiveForms[adjectiveFormsStart] = formsBuilder.add(adjective.getComparativeOption().orElse(null));
+                    adjectiveForms[adjectiveFormsStart + 1] = formsBuilder.add(adjective.getSuperlativeOption().orElse(null));
+                    break;
+            }
+        }
+
+        expressions = expressionsBuilder.build();
+        forms = formsBuilder.build();
+
+        syllables = syllablesBuilder.build();
+        synonyms = synonymsBuilder.build();
+        antonyms = antonymsBuilder.build();
+        hypernyms = hypernymsBuilder.build();
+        categories = categoriesBuilder.build();
+
+        categoryNames = new String[categoryIndexesMap.size()];
+        categoryIndexesMap.forEach((category, categoryIndex) -> categoryNames[categoryIndex] = category);
+        categoryIndexes = Collections.unmodifiableMap(categoryIndexesMap);
+        categoryMembers = categoryMembersList.toArray(new BitSet[0]);
+    }
+
+
+    private static byte getKind(Lemma lemma) {
+        if (lemma instanceof Noun) {
+            return NOUN_KIND;
+        } else if (lemma instanceof Verb) {
+            return VERB_KIND;
+        } else if (lemma instanceof Adjective) {
+            return ADJECTIVE_KIND;
+        } else {
+            return LEMMA_KIND;
+        }
+    }
+
+
+    private static byte getKind(Class<? extends Lemma> lemmaClass) {
+        if (lemmaClass == Noun.class) {
+            return NOUN_KIND;
+        } else if (lemmaClass == Verb.class) {
+            return VERB_KIND;
+        } else if (lemmaClass == Adjective.class) {
+            return ADJECTIVE_KIND;
+        } else {
+            return LEMMA_KIND;
+        }
+    }
+
+
+    private static void storeDeclension(NounDeclension declension, int[] targetForms, int nounRow, StringPool.Builder formsBuilder) {
+        int formsStart = nounRow * DECLENSION_FORMS_COUNT;
+
+        for (Numerus numerus : Numerus.values()) {
+            for (Kasus kasus : Kasus.values()) {
+                targetForms[formsStart + getDeclensionFormIndex(numerus, kasus)] =
+                        formsBuilder.add(declension.getExpressionOption(numerus, kasus).orElse(null));
+            }
+        }
+    }
+
+
+    public int getLemmasCount() {
+        return lemmasCount;
+    }
+
+
+    public IntStream scanRows() {
+        return IntStream.range(0, lemmasCount);
+    }
+
+
+    public IntStream scanRows(Class<? extends Lemma> lemmaClass) {
+        if (lemmaClass == Lemma.class) {
+            return scanRows();
+        }
+
+        byte kind = getKind(lemmaClass);
+
+        return scanRows()
+                .filter(row -> kinds[row] == kind);
+    }
+
+
+    public IntStream scanCategory(String category) {
+        Integer categoryIndex = categoryIndexes.get(category);
+
+        if (categoryIndex == null) {
+            return IntStream.empty();
+        }
+
+        return categoryMembers[categoryIndex].stream();
+    }
+
+
+    public Class<? extends Lemma> getLemmaClass(int row) {
+        switch (kinds[row]) {
+            case NOUN_KIND:
+                return Noun.class;
+
+            case VERB_KIND:
+                return Verb.class;
+
+            case ADJECTIVE_KIND:
+                return Adjective.class;
+
+            default:
+                return Lemma.class;
+        }
+    }
+
+
+    public String getExpression(int row) {
+        return expressions.get(expressionIds[row]);
+    }
+
+
+    public boolean expressionEndsWith(int row, CharSequence suffix) {
+        return expressions.endsWith(expressionIds[row], suffix);
+    }
+
+
+    public Optional<Genus> getGenusOption(int row) {
+        return GENUS_OPTIONS.get(genusCodes[row] + 1);
+    }
+
+
+    public boolean hasCategory(int row, String category) {
+        Integer categoryIndex = categoryIndexes.get(category);
+
+        return categoryIndex != null && categoryMembers[categoryIndex].get(row);
+    }
+
+
+    public int getSyllablesCount(int row) {
+        return syllables.size(row);
+    }
+
+
+    public boolean pluralAddsUmlaut(int row) {
+        if (kinds[row] != NOUN_KIND) {
+            return false;
+        }
+
+        int formsStart = wordClassRows[row] * DECLENSION_FORMS_COUNT;
+
+        int singularId = declensionForms[formsStart + NOMINATIV_SINGULAR_FORM];
+        int pluralId = declensionForms[formsStart + NOMINATIV_PLURAL_FORM];
+
+        if (singularId == StringPool.NO_STRING || pluralId == StringPool.NO_STRING) {
+            return false;
+        }
+
+        int singularLength = forms.length(singularId);
+
+        if (forms.length(pluralId) < singularLength) {
+            return false;
+        }
+
+        boolean umlautFound = false;
+
+        for (int i = 0; i < singularLength; i++) {
+            char singularChar = forms.charAt(singularId, i);
+            char pluralChar = forms.charAt(pluralId, i);
+
+            if (singularChar == pluralChar) {
+                continue;
+            }
+
+            if (umlautFound || pluralChar != getUmlaut(singularChar)) {
+                return false;
+            }
+
+            umlautFound = true;
+        }
+
+        return umlautFound;
+    }
+
+
+    private static char getUmlaut(char vowel) {
+        switch (vowel) {
+            case 'a':
+                return 'ä';
+
+            case 'o':
+                return 'ö';
+
+            case 'u':
+                return 'ü';
+
+            case 'A':
+                return 'Ä';
+
+            case 'O':
+                return 'Ö';
+
+            case 'U':
+                return 'Ü';
+
+            default:
+                return vowel;
+        }
+    }
+
+
+    public Map<Optional<Genus>, Long> countNounsByGenus(String expressionSuffix) {
+        long[] genusCounts = new long[GENUS_OPTIONS.size()];
+
+        for (int row = 0; row < lemmasCount; row++) {
+            if (kinds[row] == NOUN_KIND && expressions.endsWith(expressionIds[row], expressionSuffix)) {
+                genusCounts[genusCodes[row] + 1]++;
+            }
+        }
+
+        return toGenusCountsMap(genusCounts);
+    }
+
+
+    private static Map<Optional<Genus>, Long> toGenusCountsMap(long[] genusCounts) {
+        Map<Optional<Genus>, Long> result = new HashMap<>();
+
+        for (int i = 0; i < genusCounts.length; i++) {
+            if (genusCounts[i] > 0) {
+                result.put(GENUS_OPTIONS.get(i), genusCounts[i]);
+            }
+        }
+
+        return Collections.unmodifiableMap(result);
+    }
+
+
+    public Lemma getLemma(int row) {
+        String expression = getExpression(row);
+        Set<String> lemmaCategories = readCategories(row);
+        List<String> lemmaSyllables = readForms(syllables, row);
+        Optional<String> pronunciationOption = Optional.ofNullable(forms.get(pronunciationIds[row]));
+        Set<String> lemmaSynonyms = new HashSet<>(readForms(synonyms, row));
+        Set<String> lemmaAntonyms = new HashSet<>(readForms(antonyms, row));
+        Set<String> lemmaHypernyms = new HashSet<>(readForms(hypernyms, row));
+
+        int wordClassRow = wordClassRows[row];
+
+        switch (kinds[row]) {
+            case NOUN_KIND:
+                return new Noun(
+                        expression,
+                        lemmaCategories,
+                        lemmaSyllables,
+                        pronunciationOption,
+                        lemmaSynonyms,
+                        lemmaAntonyms,
+                        lemmaHypernyms,
+                        getGenusOption(row),
+                        readDeclension(declensionForms, wordClassRow).get(),
+                        alternativeDeclensions.get(wordClassRow) ?
+                                readDeclension(alternativeDeclensionForms, wordClassRow)
+                                :
+                                Optional.empty()
+                );
+
+            case VERB_KIND:
+                int verbFormsStart = wordClassRow * VERB_FORMS_COUNT;
+
+                return new Verb(
+                        expression,
+                        lemmaCategories,
+                        lemmaSyllables,
+                        pronunciationOption,
+                        lemmaSynonyms,
+                        lemmaAntonyms,
+                        lemmaHypernyms,
+                        Optional.ofNullable(forms.get(verbForms[verbFormsStart])),
+                        Optional.ofNullable(forms.get(verbForms[verbFormsStart + 1])),
+                        Optional.ofNullable(forms.get(verbForms[verbFormsStart + 2])),
+                        Optional.ofNullable(forms.get(verbForms[verbFormsStart + 3]))
+                );
+
+            case ADJECTIVE_KIND:
+                int adjectiveFormsStart = wordClassRow * ADJECTIVE_FORMS_COUNT;
+
+                return new Adjective(
+                        expression,
+                        lemmaCategories,
+                        lemmaSyllables,
+                        pronunciationOption,
+                        lemmaSynonyms,
+                        lemmaAntonyms,
+                        lemmaHypernyms,
+                        Optional.ofNullable(forms.get(adjectiveForms[adjectiveFormsStart])),
+                        Optional.ofNullable(forms.get(adjectiveForms[adjectiveFormsStart + 1]))
+                );
+
+            default:
+                return new Lemma(
+                        expression,
+                        lemmaCategories,
+                        lemmaSyllables,
+                        pronunciationOption,
+                        lemmaSynonyms,
+                        lemmaAntonyms,
+                        lemmaHypernyms
+                );
+        }
+    }
+
+
+    private Set<String> readCategories(int row) {
+        int categoriesCount = categories.size(row);
+
+        Set<String> result = new HashSet<>(categoriesCount * 2);
+
+        for (int i = 0; i < categoriesCount; i++) {
+            result.add(categoryNames[categories.get(row, i)]);
+        }
+
+        return result;
+    }
+
+
+    private List<String> readForms(IntListColumn column, int row) {
+        int formsCount = column.size(row);
+
+        List<String> result = new ArrayList<>(formsCount);
+
+        for (int i = 0; i < formsCount; i++) {
+            result.add(forms.get(column.get(row, i)));
+        }
+
+        return result;
+    }
+
+
+    private Optional<NounDeclension> readDeclension(int[] sourceForms, int nounRow) {
+        int formsStart = nounRow * DECLENSION_FORMS_COUNT;
+
+        Map<Numerus, Map<Kasus, String>> declensionMap = new EnumMap<>(Numerus.class);
+
+        for (Numerus numerus : Numerus.values()) {
+            Map<Kasus, String> kasusMap = new EnumMap<>(Kasus.class);
+
+            for (Kasus kasus : Kasus.values()) {
+                int formId = sourceForms[formsStart + getDeclensionFormIndex(numerus, kasus)];
+
+                if (formId != StringPool.NO_STRING) {
+                    kasusMap.put(kasus, forms.get(formId));
+                }
+            }
+
+            declensionMap.put(numerus, kasusMap);
+        }
+
+        return NounDeclension.createOption(declensionMap);
+    }
+
+
+    private int findLowerBound(String expression) {
+        int low = 0;
+        int high = lemmasCount;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (expressions.compareTo(expressionIds[middle], expression) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+
+    @Override
+    public Stream<Lemma> findLemmas() {
+        return scanRows()
+                .mapToObj(this::getLemma);
+    }
+
+
+    @Override
+    public Stream<Noun> findNouns() {
+        return findLemmas(Noun.class);
+    }
+
+
+    @Override
+    public Stream<Verb> findVerbs() {
+        return findLemmas(Verb.class);
+    }
+
+
+    @Override
+    public Stream<Adjective> findAdjectives() {
+        return findLemmas(Adjective.class);
+    }
+
+
+    private <T extends Lemma> Stream<T> findLemmas(Class<T> lemmaClass) {
+        return scanRows(lemmaClass)
+                .mapToObj(this::getLemma)
+                .map(lemmaClass::cast);
+    }
+
+
+    @Override
+    public <T extends Lemma> Stream<T> findLemmas(Class<T> lemmaClass, LemmaCriteria criteria) {
+        IntStream rows = scanRows(lemmaClass);
+
+        for (String category : criteria.getCategories()) {
+            Integer categoryIndex = categoryIndexes.get(category);
+
+            if (categoryIndex == null) {
+                return Stream.empty();
+            }
+
+            BitSet members = categoryMembers[categoryIndex];
+            rows = rows.filter(members::get);
+        }
+
+        if (criteria.getGenusOption().isPresent()) {
+            byte genusCode = (byte) criteria.getGenusOption().get().ordinal();
+
+            rows = rows.filter(row ->
+                    kinds[row] == NOUN_KIND && genusCodes[row] == genusCode
+            );
+        }
+
+        if (criteria.getSyllablesCountOption().isPresent()) {
+            int syllablesCount = criteria.getSyllablesCountOption().get();
+
+            rows = rows.filter(row ->
+                    syllables.size(row) == syllablesCount
+            );
+        }
+
+        return rows
+                .mapToObj(this::getLemma)
+                .map(lemmaClass::cast);
+    }
+
+
+    @Override
+    public Stream<String> streamExpressions() {
+        return IntStream
+                .range(0, expressions.size())
+                .mapToObj(expressions::get);
+    }
+
+
+    @Override
+    public Stream<NounGender> streamNounGenders() {
+        return scanRows(Noun.class)
+                .mapToObj(row ->
+                        new NounGender(
+                                getExpression(row),
+                                getGenusOption(row)
+                        )
+                );
+    }
+
+
+    @Override
+    public List<Lemma> findByExpression(String expression) {
+        List<Lemma> result = new ArrayList<>();
+
+        for (int row = findLowerBound(expression);
+             row < lemmasCount && expressions.compareTo(expressionIds[row], expression) == 0;
+             row++) {
+            result.add(getLemma(row));
+        }
+
+        return result;
+    }
+
+
+    public LexiconStatistics getStatistics() {
+        return new LexiconStatistics() {
+            @Override
+            public Map<String, Long> countLemmasByCategory() {
+                Map<String, Long> result = new HashMap<>();
+
+                for (int i = 0; i < categoryNames.length; i++) {
+                    result.put(categoryNames[i], (long) categoryMembers[i].cardinality());
+                }
+
+                return Collections.unmodifiableMap(result);
+            }
+
+
+            @Override
+            public Map<Optional<Genus>, Long> countNounsByGenus() {
+                long[] genusCounts = new long[GENUS_OPTIONS.size()];
+
+                for (int row = 0; row < lemmasCount; row++) {
+                    if (kinds[row] == NOUN_KIND) {
+                        genusCounts[genusCodes[row] + 1]++;
+                    }
+                }
+
+                return toGenusCountsMap(genusCounts);
+            }
+
+
+            @Override
+            public Map<Class<? extends Lemma>, Long> countLemmasByWordClass() {
+                Map<Class<? extends Lemma>, Long> result = new HashMap<>();
+
+                result.put(Lemma.class, (long) wordClassCounts[LEMMA_KIND]);
+                result.put(Noun.class, (long) wordClassCounts[NOUN_KIND]);
+                result.put(Verb.class, (long) wordClassCounts[VERB_KIND]);
+                result.put(Adjective.class, (long) wordClassCounts[ADJECTIVE_KIND]);
+
+                return Collections.unmodifiableMap(result);
+            }
+        };
+    }
+
+
+    @Override
+    public String toString() {
+        return "ColumnarLexicon{" +
+                "lemmasCount=" + lemmasCount +
+                ", categoriesCount=" + categoryNames.length +
+                '}';
+    }
+}
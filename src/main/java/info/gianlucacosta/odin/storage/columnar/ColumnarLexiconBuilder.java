@@ -0,0 +1,61 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.columnar;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.odin.storage.LemmaCollector;
+import info.gianlucacosta.odin.storage.LemmaSaver;
+import info.gianlucacosta.odin.storage.Lexicon;
+
+import java.util.Comparator;
+import java.util.List;
+
+public class ColumnarLexiconBuilder implements LemmaSaver {
+    private final LemmaCollector lemmas = new LemmaCollector();
+
+
+    @Override
+    public boolean save(Lemma lemma) {
+        return lemmas.save(lemma);
+    }
+
+
+    public ColumnarLexiconBuilder addAll(Lexicon lexicon) {
+        lemmas.addAll(lexicon);
+
+        return this;
+    }
+
+
+    public int getLemmasCount() {
+        return lemmas.getLemmasCount();
+    }
+
+
+    public ColumnarLexicon build() {
+        List<Lemma> sortedLemmas = lemmas.getLemmas();
+
+        sortedLemmas.sort(Comparator.comparing(Lemma::getExpression));
+
+        return new ColumnarLexicon(sortedLemmas);
+    }
+}
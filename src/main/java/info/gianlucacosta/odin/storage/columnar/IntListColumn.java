@@ -0,0 +1,87 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.columnar;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.ToIntFunction;
+
+class IntListColumn {
+    private final int[] offsets;
+    private final int[] values;
+
+
+    private IntListColumn(int[] offsets, int[] values) {
+        this.offsets = offsets;
+        this.values = values;
+    }
+
+
+    int size(int row) {
+        return offsets[row + 1] - offsets[row];
+    }
+
+
+    int get(int row, int index) {
+        return values[offsets[row] + index];
+    }
+
+
+    static class Builder {
+        private int[] offsets;
+        private int[] values = new int[16];
+        private int rowsCount;
+        private int valuesCount;
+
+
+        Builder(int expectedRowsCount) {
+            offsets = new int[expectedRowsCount + 1];
+        }
+
+
+        <T> void addRow(Collection<T> items, ToIntFunction<T> valueMapper) {
+            if (rowsCount + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+            }
+
+            for (T item : items) {
+                if (valuesCount == values.length) {
+                    values = Arrays.copyOf(values, 2 * values.length);
+                }
+
+                values[valuesCount] = valueMapper.applyAsInt(item);
+                valuesCount++;
+            }
+
+            rowsCount++;
+            offsets[rowsCount] = valuesCount;
+        }
+
+
+        IntListColumn build() {
+            return new IntListColumn(
+                    Arrays.copyOf(offsets, rowsCount + 1),
+                    Arrays.copyOf(values, valuesCount)
+            );
+        }
+    }
+}
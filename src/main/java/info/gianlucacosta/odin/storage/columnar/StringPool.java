@@ -0,0 +1,149 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.columnar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class StringPool {
+    static final int NO_STRING = -1;
+
+    private final char[] chars;
+    private final int[] offsets;
+
+
+    private StringPool(char[] chars, int[] offsets) {
+        this.chars = chars;
+        this.offsets = offsets;
+    }
+
+
+    int size() {
+        return offsets.length - 1;
+    }
+
+
+    int length(int stringId) {
+        return offsets[stringId + 1] - offsets[stringId];
+    }
+
+
+    char charAt(int stringId, int index) {
+        return chars[offsets[stringId] + index];
+    }
+
+
+    String get(int stringId) {
+        if (stringId == NO_STRING) {
+            return null;
+        }
+
+        return new String(chars, offsets[stringId], length(stringId));
+    }
+
+
+    int compareTo(int stringId, CharSequence text) {
+        int start = offsets[stringId];
+        int stringLength = length(stringId);
+        int commonLength = Math.min(stringLength, text.length());
+
+        for (int i = 0; i < commonLength; i++) {
+            int comparison = Character.compare(chars[start + i], text.charAt(i));
+
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+
+        return Integer.compare(stringLength, text.length());
+    }
+
+
+    boolean endsWith(int stringId, CharSequence suffix) {
+        int stringLength = length(stringId);
+        int suffixLength = suffix.length();
+
+        if (suffixLength > stringLength) {
+            return false;
+        }
+
+        int suffixStart = offsets[stringId + 1] - suffixLength;
+
+        for (int i = 0; i < suffixLength; i++) {
+            if (chars[suffixStart + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    static class Builder {
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private int charsCount;
+
+
+        int add(String string) {
+            if (string == null) {
+                return NO_STRING;
+            }
+
+            Integer existingId = stringIds.get(string);
+
+            if (existingId != null) {
+                return existingId;
+            }
+
+            int stringId = strings.size();
+
+            stringIds.put(string, stringId);
+            strings.add(string);
+            charsCount += string.length();
+
+            return stringId;
+        }
+
+
+        StringPool build() {
+            char[] chars = new char[charsCount];
+            int[] offsets = new int[strings.size() + 1];
+
+            int offset = 0;
+
+            for (int i = 0; i < strings.size(); i++) {
+                String string = strings.get(i);
+
+                offsets[i] = offset;
+                string.getChars(0, string.length(), chars, offset);
+                offset += string.length();
+            }
+
+            offsets[strings.size()] = offset;
+
+            return new StringPool(chars, offsets);
+        }
+    }
+}
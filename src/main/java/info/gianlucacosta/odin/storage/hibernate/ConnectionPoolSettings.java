@@ -0,0 +1,197 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+public class ConnectionPoolSettings {
+    private static final ConnectionPoolSettings DEFAULTS = builder().build();
+
+
+    public static ConnectionPoolSettings defaults() {
+        return DEFAULTS;
+    }
+
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+
+    private final int minSize;
+    private final int maxSize;
+    private final int maxStatements;
+    private final boolean validatedOnCheckout;
+    private final int idleValidationPeriodSeconds;
+
+
+    private ConnectionPoolSettings(Builder builder) {
+        if (builder.maxSize < builder.minSize) {
+            throw new IllegalArgumentException("The max pool size must be >= the min pool size");
+        }
+
+        this.minSize = builder.minSize;
+        this.maxSize = builder.maxSize;
+        this.maxStatements = builder.maxStatements;
+        this.validatedOnCheckout = builder.validatedOnCheckout;
+        this.idleValidationPeriodSeconds = builder.idleValidationPeriodSeconds;
+    }
+
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+
+    public boolean isValidatedOnCheckout() {
+        return validatedOnCheckout;
+    }
+
+
+    public int getIdleValidationPeriodSeconds() {
+        return idleValidationPeriodSeconds;
+    }
+
+
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ConnectionPoolSettings that = (ConnectionPoolSettings) o;
+
+        if (minSize != that.minSize) return false;
+        if (maxSize != that.maxSize) return false;
+        if (maxStatements != that.maxStatements) return false;
+        if (validatedOnCheckout != that.validatedOnCheckout) return false;
+        return idleValidationPeriodSeconds == that.idleValidationPeriodSeconds;
+    }
+
+
+    @Override
+    public int hashCode() {
+        int result = minSize;
+        result = 31 * result + maxSize;
+        result = 31 * result + maxStatements;
+        result = 31 * result + (validatedOnCheckout ? 1 : 0);
+        result = 31 * result + idleValidationPeriodSeconds;
+        return result;
+    }
+
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolSettings{" +
+                "minSize=" + minSize +
+                ", maxSize=" + maxSize +
+                ", maxStatements=" + maxStatements +
+                ", validatedOnCheckout=" + validatedOnCheckout +
+                ", idleValidationPeriodSeconds=" + idleValidationPeriodSeconds +
+                '}';
+    }
+
+
+    public static class Builder {
+        private int minSize = 1;
+        private int maxSize = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+        private int maxStatements = 200;
+        private boolean validatedOnCheckout;
+        private int idleValidationPeriodSeconds = 300;
+
+
+        private Builder() {
+        }
+
+
+        private Builder(ConnectionPoolSettings settings) {
+            this.minSize = settings.minSize;
+            this.maxSize = settings.maxSize;
+            this.maxStatements = settings.maxStatements;
+            this.validatedOnCheckout = settings.validatedOnCheckout;
+            this.idleValidationPeriodSeconds = settings.idleValidationPeriodSeconds;
+        }
+
+
+        public Builder minSize(int minSize) {
+            if (minSize < 0) {
+                throw new IllegalArgumentException("The min pool size must be >= 0");
+            }
+
+            this.minSize = minSize;
+            return this;
+        }
+
+
+        public Builder maxSize(int maxSize) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("The max pool size must be > 0");
+            }
+
+            this.maxSize = maxSize;
+            return this;
+        }
+
+
+        public Builder maxStatements(int maxStatements) {
+            if (maxStatements < 0) {
+                throw new IllegalArgumentException("The max cached statements must be >= 0");
+            }
+
+            this.maxStatements = maxStatements;
+            return this;
+        }
+
+
+        public Builder validateOnCheckout(boolean validatedOnCheckout) {
+            this.validatedOnCheckout = validatedOnCheckout;
+            return this;
+        }
+
+
+        public Builder idleValidationPeriodSeconds(int idleValidationPeriodSeconds) {
+            if (idleValidationPeriodSeconds < 0) {
+                throw new IllegalArgumentException("The idle validation period must be >= 0");
+            }
+
+            this.idleValidationPeriodSeconds = idleValidationPeriodSeconds;
+            return this;
+        }
+
+
+        public ConnectionPoolSettings build() {
+            return new ConnectionPoolSettings(this);
+        }
+    }
+}
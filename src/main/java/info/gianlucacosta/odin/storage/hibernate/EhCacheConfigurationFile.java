@@ -0,0 +1,106 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.config.generator.ConfigurationUtil;
+import net.sf.ehcache.store.MemoryStoreEvictionPolicy;
+import org.hibernate.cache.spi.UpdateTimestampsCache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+class EhCacheConfigurationFile implements AutoCloseable {
+    static EhCacheConfigurationFile create(SecondLevelCacheSettings cacheSettings) {
+        CacheConfiguration regionConfiguration =
+                new CacheConfiguration()
+                        .maxEntriesLocalHeap(cacheSettings.getMaxEntriesPerRegion())
+                        .memoryStoreEvictionPolicy(
+                                MemoryStoreEvictionPolicy.fromString(
+                                        cacheSettings.getEvictionPolicy().name()
+                                )
+                        );
+
+        if (cacheSettings.getTimeToLiveOption().isPresent()) {
+            regionConfiguration.timeToLiveSeconds(
+                    cacheSettings.getTimeToLiveOption().get().getSeconds()
+            );
+        } else {
+            regionConfiguration.eternal(true);
+        }
+
+        CacheConfiguration timestampsConfiguration =
+                new CacheConfiguration()
+                        .name(UpdateTimestampsCache.REGION_NAME)
+                        .maxEntriesLocalHeap(0)
+                        .eternal(true);
+
+        Configuration configuration =
+                new Configuration()
+                        .name(String.format("odin-%s", UUID.randomUUID()))
+                        .defaultCache(regionConfiguration)
+                        .cache(timestampsConfiguration);
+
+        String configurationText =
+                ConfigurationUtil.generateCacheManagerConfigurationText(configuration);
+
+        try {
+            Path path = Files.createTempFile("odin-ehcache-", ".xml");
+
+            Files.write(path, configurationText.getBytes(StandardCharsets.UTF_8));
+
+            return new EhCacheConfigurationFile(path);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error while writing the cache configuration", ex);
+        }
+    }
+
+
+    private final Path path;
+
+
+    private EhCacheConfigurationFile(Path path) {
+        this.path = path;
+    }
+
+
+    public String getUrl() {
+        try {
+            return path.toUri().toURL().toString();
+        } catch (IOException ex) {
+            throw new RuntimeException("Error while locating the cache configuration", ex);
+        }
+    }
+
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error while deleting the cache configuration", ex);
+        }
+    }
+}
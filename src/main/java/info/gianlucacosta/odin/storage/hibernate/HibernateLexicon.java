@@ -21,40 +21,156 @@
 package info.gianlucacosta.odin.storage.hibernate;
 
 import info.gianlucacosta.balmung.lexicon.Adjective;
+import info.gianlucacosta.balmung.lexicon.Genus;
 import info.gianlucacosta.balmung.lexicon.Lemma;
 import info.gianlucacosta.balmung.lexicon.Noun;
 import info.gianlucacosta.balmung.lexicon.Verb;
+import info.gianlucacosta.odin.storage.LemmaCriteria;
 import info.gianlucacosta.odin.storage.Lexicon;
+import info.gianlucacosta.odin.storage.LexiconStatistics;
+import info.gianlucacosta.odin.storage.NounGender;
+import org.hibernate.FlushMode;
+import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.Query;
+import org.reactivestreams.Publisher;
 
+import javax.persistence.PersistenceException;
+import javax.persistence.criteria.AbstractQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class HibernateLexicon implements Lexicon {
+    public static final int DEFAULT_STREAMING_CHUNK_SIZE = 500;
+
+    private static final int EXPRESSIONS_CHUNK_SIZE = 500;
+
     private static final Logger logger = Logger.getLogger(HibernateLexicon.class.getName());
 
     private final SessionFactory sessionFactory;
+    private final SavingMode savingMode;
+    private final int streamingChunkSize;
+
+    private final Set<String> storedExpressions = ConcurrentHashMap.newKeySet();
+
+    private final HibernateLexiconStatistics statistics;
+
+    private final AtomicLong savesCount = new AtomicLong();
+    private final Map<SamplingKey, SamplingIds> samplingIdsCache = new ConcurrentHashMap<>();
 
     public HibernateLexicon(SessionFactory sessionFactory) {
+        this(sessionFactory, SavingMode.INSERT);
+    }
+
+
+    public HibernateLexicon(SessionFactory sessionFactory, SavingMode savingMode) {
+        this(sessionFactory, savingMode, DEFAULT_STREAMING_CHUNK_SIZE);
+    }
+
+
+    public HibernateLexicon(SessionFactory sessionFactory, SavingMode savingMode, int streamingChunkSize) {
+        if (streamingChunkSize < 1) {
+            throw new IllegalArgumentException("The streaming chunk size must be > 0");
+        }
+
         this.sessionFactory = sessionFactory;
+        this.savingMode = savingMode;
+        this.streamingChunkSize = streamingChunkSize;
+        this.statistics = new HibernateLexiconStatistics(sessionFactory, true);
+
+        if (savingMode == SavingMode.UPSERT) {
+            loadStoredExpressions();
+        }
+    }
+
+
+    private void loadStoredExpressions() {
+        try (Session session = sessionFactory.openSession()) {
+            try (Stream<String> expressions =
+                         session
+                                 .createNamedQuery(
+                                         "info.gianlucacosta.balmung.readExpressions",
+                                         String.class
+                                 )
+                                 .stream()) {
+                expressions.forEach(storedExpressions::add);
+            }
+        }
     }
 
+
+    public SavingMode getSavingMode() {
+        return savingMode;
+    }
+
+
+    public int getStreamingChunkSize() {
+        return streamingChunkSize;
+    }
+
+
+    public LexiconStatistics getStatistics() {
+        return statistics;
+    }
+
+
     @Override
     public boolean save(Lemma lemma) {
         try (Session session = sessionFactory.openSession()) {
             Transaction transaction = session.beginTransaction();
 
             try {
-                session.persist(lemma);
+                if (savingMode == SavingMode.UPSERT && storedExpressions.contains(lemma.getExpression())) {
+                    replaceStoredLemmas(session, lemma);
+                } else {
+                    persistLemma(session, lemma);
+                }
+
                 transaction.commit();
+                statistics.invalidate();
+                savesCount.incrementAndGet();
             } finally {
                 if (transaction.isActive()) {
                     transaction.rollback();
                 }
             }
 
+            if (savingMode == SavingMode.UPSERT) {
+                storedExpressions.add(lemma.getExpression());
+            }
+
             return true;
         } catch (Exception ex) {
             logger.warning(() ->
@@ -66,58 +182,847 @@ public class HibernateLexicon implements Lexicon {
     }
 
 
+    @Override
+    public int saveAll(Collection<? extends Lemma> lemmas) {
+        if (lemmas.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> batchExpressions = new HashSet<>();
+
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+
+            try {
+                int pendingLemmasCount = 0;
+
+                for (Lemma lemma : lemmas) {
+                    String expression = lemma.getExpression();
+
+                    if (savingMode == SavingMode.UPSERT &&
+                            (storedExpressions.contains(expression) || batchExpressions.contains(expression))) {
+                        replaceStoredLemmas(session, lemma);
+                    } else {
+                        persistLemma(session, lemma);
+                    }
+
+                    batchExpressions.add(expression);
+
+                    pendingLemmasCount++;
+
+                    if (pendingLemmasCount == LocalDatabase.JDBC_BATCH_SIZE) {
+                        session.flush();
+                        session.clear();
+                        pendingLemmasCount = 0;
+                    }
+                }
+
+                transaction.commit();
+                statistics.invalidate();
+                savesCount.addAndGet(lemmas.size());
+            } finally {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+            }
+        } catch (PersistenceException ex) {
+            logger.warning(() ->
+                    String.format("Error while saving a batch of %d lemmas, saving them one by one: '%s'", lemmas.size(), ex)
+            );
+
+            return saveOneByOne(lemmas);
+        }
+
+        if (savingMode == SavingMode.UPSERT) {
+            storedExpressions.addAll(batchExpressions);
+        }
+
+        return lemmas.size();
+    }
+
+
+    private int saveOneByOne(Collection<? extends Lemma> lemmas) {
+        int savedLemmasCount = 0;
+
+        for (Lemma lemma : lemmas) {
+            if (save(lemma)) {
+                savedLemmasCount++;
+            }
+        }
+
+        return savedLemmasCount;
+    }
+
+
+    private static void replaceStoredLemmas(Session session, Lemma lemma) {
+        List<Lemma> storedLemmas =
+                session
+                        .createNamedQuery(
+                                "info.gianlucacosta.balmung.readLemmasByExpression",
+                                Lemma.class
+                        )
+                        .setParameter("expression", lemma.getExpression())
+                        .getResultList();
+
+        if (storedLemmas.contains(lemma)) {
+            return;
+        }
+
+        storedLemmas
+                .stream()
+                .filter(storedLemma ->
+                        Objects.equals(storedLemma.getCategories(), lemma.getCategories())
+                )
+                .forEach(storedLemma -> removeLemma(session, storedLemma));
+
+        persistLemma(session, lemma);
+    }
+
+
+    private static void persistLemma(Session session, Lemma lemma) {
+        session.persist(lemma);
+
+        session.persist(
+                new LemmaSyllablesCount(
+                        ((Number) session.getIdentifier(lemma)).longValue(),
+                        lemma.getSyllables().size()
+                )
+        );
+    }
+
+
+    private static void removeLemma(Session session, Lemma lemma) {
+        LemmaSyllablesCount syllablesCount =
+                session.find(LemmaSyllablesCount.class, session.getIdentifier(lemma));
+
+        if (syllablesCount != null) {
+            session.remove(syllablesCount);
+        }
+
+        session.remove(lemma);
+    }
+
+
     @Override
     public Stream<Lemma> findLemmas() {
+        return findLemmas(EnumSet.allOf(LemmaAssociation.class));
+    }
+
+
+    public Stream<Lemma> findLemmas(Set<LemmaAssociation> eagerAssociations) {
         return openLemmaStream(
-                "info.gianlucacosta.balmung.readLemmas",
+                "info.gianlucacosta.balmung.readLemmasAfterId",
+                Lemma.class,
+                eagerAssociations
+        );
+    }
+
+
+    public Stream<Lemma> findLemmasInParallel() {
+        return findLemmasInParallel(EnumSet.allOf(LemmaAssociation.class));
+    }
+
+
+    public Stream<Lemma> findLemmasInParallel(Set<LemmaAssociation> eagerAssociations) {
+        return openParallelLemmaStream(
+                "info.gianlucacosta.balmung.readLemmasAfterId",
+                "info.gianlucacosta.balmung.readLemmasIdRange",
+                Lemma.class,
+                eagerAssociations
+        );
+    }
+
+
+    public Publisher<Lemma> publishLemmas() {
+        return createLemmaPublisher(
+                "info.gianlucacosta.balmung.readLemmasAfterId",
                 Lemma.class
         );
     }
 
-    private <T extends Lemma> Stream<T> openLemmaStream(String queryName, Class<T> itemsClass) {
+    private <T extends Lemma> Stream<T> openLemmaStream(String queryName, Class<T> itemsClass, Set<LemmaAssociation> eagerAssociations) {
+        return openLemmaStream(
+                itemsClass,
+                createChunkQueryFactory(queryName, itemsClass),
+                eagerAssociations
+        );
+    }
+
+
+    private static <T extends Lemma> BiFunction<Session, Long, Query<T>> createChunkQueryFactory(String queryName, Class<T> itemsClass) {
+        return (chunkSession, lastId) ->
+                chunkSession
+                        .createNamedQuery(
+                                queryName,
+                                itemsClass
+                        )
+                        .setParameter("lastId", lastId)
+                        .setParameter("maxId", Long.MAX_VALUE);
+    }
+
+
+    private <T extends Lemma> Publisher<T> createLemmaPublisher(String queryName, Class<T> itemsClass) {
+        return new KeysetPublisher<>(
+                sessionFactory,
+                createChunkQueryFactory(queryName, itemsClass),
+                streamingChunkSize,
+                createAssociationsInitializer(itemsClass, EnumSet.allOf(LemmaAssociation.class))
+        );
+    }
+
+
+    private <T extends Lemma> Stream<T> openParallelLemmaStream(
+            String queryName,
+            String idRangeQueryName,
+            Class<T> itemsClass,
+            Set<LemmaAssociation> eagerAssociations
+    ) {
+        Object[] idRange;
+
+        try (Session session = sessionFactory.openSession()) {
+            idRange =
+                    session
+                            .createNamedQuery(idRangeQueryName, Object[].class)
+                            .getSingleResult();
+        }
+
+        if (idRange[0] == null) {
+            return Stream.<T>empty().parallel();
+        }
+
+        Set<Session> openSessions = ConcurrentHashMap.newKeySet();
+
+        IdRangeSpliterator<T> spliterator =
+                new IdRangeSpliterator<>(
+                        sessionFactory,
+                        queryName,
+                        itemsClass,
+                        streamingChunkSize,
+                        createAssociationsInitializer(itemsClass, eagerAssociations),
+                        openSessions,
+                        ((Number) idRange[0]).longValue(),
+                        ((Number) idRange[1]).longValue()
+                );
+
+        Stream<T> result =
+                StreamSupport.stream(spliterator, true);
+
+        result.onClose(() ->
+                openSessions.forEach(session -> {
+                    if (openSessions.remove(session)) {
+                        session.close();
+                    }
+                })
+        );
+
+        return result;
+    }
+
+
+    private <T extends Lemma> Stream<T> openLemmaStream(
+            Class<T> itemsClass,
+            BiFunction<Session, Long, Query<T>> chunkQueryFactory,
+            Set<LemmaAssociation> eagerAssociations
+    ) {
         Session session = sessionFactory.openSession();
 
         try {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+
+            KeysetSpliterator<T> spliterator =
+                    new KeysetSpliterator<>(
+                            session,
+                            chunkQueryFactory,
+                            streamingChunkSize,
+                            createAssociationsInitializer(itemsClass, eagerAssociations)
+                    );
+
             Stream<T> result =
+                    StreamSupport.stream(spliterator, false);
+
+            result.onClose(session::close);
+
+            return result;
+        } catch (Exception ex) {
+            session.close();
+
+            throw ex;
+        }
+    }
+
+
+    private EntityPersister getEntityPersister(Class<?> itemsClass) {
+        return sessionFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMetamodel()
+                .entityPersister(itemsClass);
+    }
+
+
+    private <T extends Lemma> Consumer<List<T>> createAssociationsInitializer(Class<T> itemsClass, Set<LemmaAssociation> eagerAssociations) {
+        EntityPersister entityPersister =
+                getEntityPersister(itemsClass);
+
+        return chunk ->
+                eagerAssociations.forEach(association ->
+                        chunk.forEach(item ->
+                                Hibernate.initialize(
+                                        entityPersister.getPropertyValue(
+                                                item,
+                                                association.getAttributeName()
+                                        )
+                                )
+                        )
+                );
+    }
+
+
+    @Override
+    public <T extends Lemma> Stream<T> findLemmas(Class<T> lemmaClass, LemmaCriteria criteria) {
+        return findLemmas(
+                lemmaClass,
+                criteria,
+                EnumSet.allOf(LemmaAssociation.class)
+        );
+    }
+
+
+    public <T extends Lemma> Stream<T> findLemmas(Class<T> lemmaClass, LemmaCriteria criteria, Set<LemmaAssociation> eagerAssociations) {
+        if (!criteria.getGenusOption().isPresent()) {
+            return openCriteriaStream(lemmaClass, criteria, eagerAssociations);
+        }
+
+        if (Noun.class.isAssignableFrom(lemmaClass)) {
+            return openCriteriaStream(lemmaClass, criteria, eagerAssociations);
+        }
+
+        if (lemmaClass.isAssignableFrom(Noun.class)) {
+            return openCriteriaStream(Noun.class, criteria, eagerAssociations)
+                    .map(lemmaClass::cast);
+        }
+
+        return Stream.empty();
+    }
+
+
+    private <T extends Lemma> Stream<T> openCriteriaStream(Class<T> itemsClass, LemmaCriteria criteria, Set<LemmaAssociation> eagerAssociations) {
+        String idAttributeName =
+                getEntityPersister(itemsClass).getIdentifierPropertyName();
+
+        return openLemmaStream(
+                itemsClass,
+                (chunkSession, lastId) -> {
+                    CriteriaBuilder criteriaBuilder =
+                            chunkSession.getCriteriaBuilder();
+
+                    CriteriaQuery<T> criteriaQuery =
+                            criteriaBuilder.createQuery(itemsClass);
+
+                    Root<T> root =
+                            criteriaQuery.from(itemsClass);
+
+                    ParameterExpression<Long> lastIdParameter =
+                            criteriaBuilder.parameter(Long.class);
+
+                    List<Predicate> predicates =
+                            createCriteriaPredicates(criteriaBuilder, criteriaQuery, root, idAttributeName, criteria);
+
+                    predicates.add(
+                            criteriaBuilder.greaterThan(root.get(idAttributeName), lastIdParameter)
+                    );
+
+                    criteriaQuery
+                            .select(root)
+                            .where(predicates.toArray(new Predicate[0]))
+                            .orderBy(criteriaBuilder.asc(root.get(idAttributeName)));
+
+                    return chunkSession
+                            .createQuery(criteriaQuery)
+                            .setParameter(lastIdParameter, lastId);
+                },
+                eagerAssociations
+        );
+    }
+
+
+    private static <T extends Lemma> List<Predicate> createCriteriaPredicates(
+            CriteriaBuilder criteriaBuilder,
+            AbstractQuery<?> query,
+            Root<T> root,
+            String idAttributeName,
+            LemmaCriteria criteria
+    ) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        criteria.getCategories().forEach(category ->
+                predicates.add(
+                        criteriaBuilder.equal(root.join("categories"), category)
+                )
+        );
+
+        criteria.getGenusOption().ifPresent(genus ->
+                predicates.add(
+                        criteriaBuilder.equal(root.get("genus"), genus)
+                )
+        );
+
+        criteria.getSyllablesCountOption().ifPresent(syllablesCount -> {
+            Subquery<Long> lemmaIdsSubquery =
+                    query.subquery(Long.class);
+
+            Root<LemmaSyllablesCount> syllablesCountRoot =
+                    lemmaIdsSubquery.from(LemmaSyllablesCount.class);
+
+            lemmaIdsSubquery
+                    .select(syllablesCountRoot.get("lemmaId"))
+                    .where(
+                            criteriaBuilder.equal(syllablesCountRoot.get("syllablesCount"), syllablesCount)
+                    );
+
+            predicates.add(
+                    root.get(idAttributeName).in(lemmaIdsSubquery)
+            );
+        });
+
+        return predicates;
+    }
+
+
+    @Override
+    public <T extends Lemma> List<T> sample(Class<T> lemmaClass, int count, LemmaCriteria criteria) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The sample size must be >= 0");
+        }
+
+        if (!criteria.getGenusOption().isPresent()) {
+            return sampleEntities(lemmaClass, count, criteria);
+        }
+
+        if (Noun.class.isAssignableFrom(lemmaClass)) {
+            return sampleEntities(lemmaClass, count, criteria);
+        }
+
+        if (lemmaClass.isAssignableFrom(Noun.class)) {
+            return sampleEntities(Noun.class, count, criteria)
+                    .stream()
+                    .map(lemmaClass::cast)
+                    .collect(Collectors.toList());
+        }
+
+        return Collections.emptyList();
+    }
+
+
+    private <T extends Lemma> List<T> sampleEntities(Class<T> itemsClass, int count, LemmaCriteria criteria) {
+        SamplingKey samplingKey = new SamplingKey(itemsClass, criteria);
+
+        long[] ids = getSamplingIds(samplingKey);
+
+        List<T> result = new ArrayList<>(Math.min(count, ids.length));
+        Set<Long> attemptedIds = new HashSet<>();
+
+        while (true) {
+            List<Long> sampledIds = pickSamplingIds(ids, count - result.size(), attemptedIds);
+
+            if (sampledIds.isEmpty()) {
+                break;
+            }
+
+            attemptedIds.addAll(sampledIds);
+
+            List<T> sampledItems = loadSampledItems(itemsClass, sampledIds);
+            result.addAll(sampledItems);
+
+            if (sampledItems.size() == sampledIds.size()) {
+                break;
+            }
+
+            //Some cached ids were deleted in the meantime: top up from fresh ids
+            ids = refreshSamplingIds(samplingKey);
+        }
+
+        Collections.shuffle(result, ThreadLocalRandom.current());
+
+        return result;
+    }
+
+
+    private static List<Long> pickSamplingIds(long[] ids, int count, Set<Long> excludedIds) {
+        long[] candidateIds =
+                excludedIds.isEmpty() ?
+                        ids
+                        :
+                        Arrays
+                                .stream(ids)
+                                .filter(id -> !excludedIds.contains(id))
+                                .toArray();
+
+        List<Long> sampledIds = new ArrayList<>(Math.min(count, candidateIds.length));
+
+        if (count >= candidateIds.length) {
+            for (long id : candidateIds) {
+                sampledIds.add(id);
+            }
+        } else {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            Set<Integer> sampledIndexes = new HashSet<>();
+
+            for (int upperIndex = candidateIds.length - count; upperIndex < candidateIds.length; upperIndex++) {
+                int sampledIndex = random.nextInt(upperIndex + 1);
+
+                if (!sampledIndexes.add(sampledIndex)) {
+                    sampledIndexes.add(upperIndex);
+                }
+            }
+
+            sampledIndexes.forEach(sampledIndex ->
+                    sampledIds.add(candidateIds[sampledIndex])
+            );
+        }
+
+        return sampledIds;
+    }
+
+
+    private <T extends Lemma> List<T> loadSampledItems(Class<T> itemsClass, List<Long> sampledIds) {
+        try (Session session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+
+            List<T> result =
                     session
+                            .byMultipleIds(itemsClass)
+                            .multiLoad(sampledIds)
+                            .stream()
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList());
+
+            createAssociationsInitializer(itemsClass, EnumSet.allOf(LemmaAssociation.class))
+                    .accept(result);
+
+            return result;
+        }
+    }
+
+
+    private long[] getSamplingIds(SamplingKey samplingKey) {
+        long currentSavesCount = savesCount.get();
+        HibernateLexiconStatistics.LemmasStamp currentLemmasStamp = statistics.readLemmasStamp();
+
+        SamplingIds samplingIds = samplingIdsCache.get(samplingKey);
+
+        if (samplingIds != null &&
+                samplingIds.savesCount == currentSavesCount &&
+                samplingIds.lemmasStamp.equals(currentLemmasStamp)) {
+            return samplingIds.ids;
+        }
+
+        long[] ids = querySamplingIds(samplingKey.itemsClass, samplingKey.criteria);
+
+        samplingIdsCache.put(samplingKey, new SamplingIds(currentSavesCount, currentLemmasStamp, ids));
+
+        return ids;
+    }
+
+
+    private long[] refreshSamplingIds(SamplingKey samplingKey) {
+        samplingIdsCache.remove(samplingKey);
+
+        return getSamplingIds(samplingKey);
+    }
+
+
+    private <T extends Lemma> long[] querySamplingIds(Class<T> itemsClass, LemmaCriteria criteria) {
+        String idAttributeName =
+                getEntityPersister(itemsClass).getIdentifierPropertyName();
+
+        try (Session session = sessionFactory.openSession()) {
+            CriteriaBuilder criteriaBuilder =
+                    session.getCriteriaBuilder();
+
+            CriteriaQuery<Long> criteriaQuery =
+                    criteriaBuilder.createQuery(Long.class);
+
+            Root<T> root =
+                    criteriaQuery.from(itemsClass);
+
+            criteriaQuery
+                    .select(root.get(idAttributeName))
+                    .distinct(true)
+                    .where(createCriteriaPredicates(criteriaBuilder, criteriaQuery, root, idAttributeName, criteria).toArray(new Predicate[0]));
+
+            return session
+                    .createQuery(criteriaQuery)
+                    .setFetchSize(streamingChunkSize)
+                    .getResultList()
+                    .stream()
+                    .mapToLong(Long::longValue)
+                    .toArray();
+        }
+    }
+
+
+    @Override
+    public Stream<String> streamExpressions() {
+        return openProjectionStream(
+                "info.gianlucacosta.balmung.readExpressions",
+                String.class,
+                Function.identity()
+        );
+    }
+
+
+    @Override
+    public Stream<NounGender> streamNounGenders() {
+        return openProjectionStream(
+                "info.gianlucacosta.balmung.readNounGenders",
+                Object[].class,
+                row ->
+                        new NounGender(
+                                (String) row[0],
+                                Optional.ofNullable((Genus) row[1])
+                        )
+        );
+    }
+
+
+    private <R, T> Stream<T> openProjectionStream(String queryName, Class<R> rowClass, Function<R, T> rowMapper) {
+        StatelessSession statelessSession = sessionFactory.openStatelessSession();
+
+        try {
+            Stream<T> result =
+                    statelessSession
                             .createNamedQuery(
                                     queryName,
-                                    itemsClass
+                                    rowClass
                             )
-                            .stream();
+                            .setFetchSize(streamingChunkSize)
+                            .setReadOnly(true)
+                            .stream()
+                            .map(rowMapper);
 
-            result.onClose(session::close);
+            result.onClose(statelessSession::close);
 
             return result;
         } catch (Exception ex) {
-            session.close();
+            statelessSession.close();
 
             throw ex;
         }
     }
 
 
+    @Override
+    public List<Lemma> findByExpression(String expression) {
+        try (Session session = sessionFactory.openSession()) {
+            List<Lemma> result =
+                    session
+                            .createNamedQuery(
+                                    "info.gianlucacosta.balmung.readLemmasByExpression",
+                                    Lemma.class
+                            )
+                            .setParameter("expression", expression)
+                            .setReadOnly(true)
+                            .getResultList();
+
+            createAssociationsInitializer(Lemma.class, EnumSet.allOf(LemmaAssociation.class))
+                    .accept(result);
+
+            return result;
+        }
+    }
+
+
+    @Override
+    public List<Lemma> findByExpressions(Collection<String> expressions) {
+        List<String> distinctExpressions =
+                new ArrayList<>(new LinkedHashSet<>(expressions));
+
+        List<Lemma> result = new ArrayList<>();
+
+        try (Session session = sessionFactory.openSession()) {
+            for (int chunkStart = 0; chunkStart < distinctExpressions.size(); chunkStart += EXPRESSIONS_CHUNK_SIZE) {
+                List<String> expressionsChunk =
+                        distinctExpressions.subList(
+                                chunkStart,
+                                Math.min(chunkStart + EXPRESSIONS_CHUNK_SIZE, distinctExpressions.size())
+                        );
+
+                result.addAll(
+                        session
+                                .createNamedQuery(
+                                        "info.gianlucacosta.balmung.readLemmasByExpressions",
+                                        Lemma.class
+                                )
+                                .setParameterList("expressions", expressionsChunk)
+                                .setReadOnly(true)
+                                .getResultList()
+                );
+            }
+
+            createAssociationsInitializer(Lemma.class, EnumSet.allOf(LemmaAssociation.class))
+                    .accept(result);
+        }
+
+        return result;
+    }
+
+
     @Override
     public Stream<Noun> findNouns() {
+        return findNouns(EnumSet.allOf(LemmaAssociation.class));
+    }
+
+
+    public Stream<Noun> findNouns(Set<LemmaAssociation> eagerAssociations) {
         return openLemmaStream(
-                "info.gianlucacosta.balmung.readNouns",
+                "info.gianlucacosta.balmung.readNounsAfterId",
+                Noun.class,
+                eagerAssociations
+        );
+    }
+
+
+    public Stream<Noun> findNounsInParallel() {
+        return findNounsInParallel(EnumSet.allOf(LemmaAssociation.class));
+    }
+
+
+    public Stream<Noun> findNounsInParallel(Set<LemmaAssociation> eagerAssociations) {
+        return openParallelLemmaStream(
+                "info.gianlucacosta.balmung.readNounsAfterId",
+                "info.gianlucacosta.balmung.readNounsIdRange",
+                Noun.class,
+                eagerAssociations
+        );
+    }
+
+
+    public Publisher<Noun> publishNouns() {
+        return createLemmaPublisher(
+                "info.gianlucacosta.balmung.readNounsAfterId",
                 Noun.class
         );
     }
 
     @Override
     public Stream<Verb> findVerbs() {
+        return findVerbs(EnumSet.allOf(LemmaAssociation.class));
+    }
+
+
+    public Stream<Verb> findVerbs(Set<LemmaAssociation> eagerAssociations) {
         return openLemmaStream(
-                "info.gianlucacosta.balmung.readVerbs",
+                "info.gianlucacosta.balmung.readVerbsAfterId",
+                Verb.class,
+                eagerAssociations
+        );
+    }
+
+
+    public Stream<Verb> findVerbsInParallel() {
+        return findVerbsInParallel(EnumSet.allOf(LemmaAssociation.class));
+    }
+
+
+    public Stream<Verb> findVerbsInParallel(Set<LemmaAssociation> eagerAssociations) {
+        return openParallelLemmaStream(
+                "info.gianlucacosta.balmung.readVerbsAfterId",
+                "info.gianlucacosta.balmung.readVerbsIdRange",
+                Verb.class,
+                eagerAssociations
+        );
+    }
+
+
+    public Publisher<Verb> publishVerbs() {
+        return createLemmaPublisher(
+                "info.gianlucacosta.balmung.readVerbsAfterId",
                 Verb.class
         );
     }
 
     @Override
     public Stream<Adjective> findAdjectives() {
+        return findAdjectives(EnumSet.allOf(LemmaAssociation.class));
+    }
+
+
+    public Stream<Adjective> findAdjectives(Set<LemmaAssociation> eagerAssociations) {
         return openLemmaStream(
-                "info.gianlucacosta.balmung.readAdjectives",
+                "info.gianlucacosta.balmung.readAdjectivesAfterId",
+                Adjective.class,
+                eagerAssociations
+        );
+    }
+
+
+    public Stream<Adjective> findAdjectivesInParallel() {
+        return findAdjectivesInParallel(EnumSet.allOf(LemmaAssociation.class));
+    }
+
+
+    public Stream<Adjective> findAdjectivesInParallel(Set<LemmaAssociation> eagerAssociations) {
+        return openParallelLemmaStream(
+                "info.gianlucacosta.balmung.readAdjectivesAfterId",
+                "info.gianlucacosta.balmung.readAdjectivesIdRange",
+                Adjective.class,
+                eagerAssociations
+        );
+    }
+
+
+    public Publisher<Adjective> publishAdjectives() {
+        return createLemmaPublisher(
+                "info.gianlucacosta.balmung.readAdjectivesAfterId",
                 Adjective.class
         );
     }
+
+
+    private static class SamplingKey {
+        private final Class<? extends Lemma> itemsClass;
+        private final LemmaCriteria criteria;
+
+
+        SamplingKey(Class<? extends Lemma> itemsClass, LemmaCriteria criteria) {
+            this.itemsClass = itemsClass;
+            this.criteria = criteria;
+        }
+
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            SamplingKey that = (SamplingKey) o;
+
+            if (!itemsClass.equals(that.itemsClass)) return false;
+            return criteria.equals(that.criteria);
+        }
+
+
+        @Override
+        public int hashCode() {
+            int result = itemsClass.hashCode();
+            result = 31 * result + criteria.hashCode();
+            return result;
+        }
+    }
+
+
+    private static class SamplingIds {
+        final long savesCount;
+        final HibernateLexiconStatistics.LemmasStamp lemmasStamp;
+        final long[] ids;
+
+
+        SamplingIds(long savesCount, HibernateLexiconStatistics.LemmasStamp lemmasStamp, long[] ids) {
+            this.savesCount = savesCount;
+            this.lemmasStamp = lemmasStamp;
+            this.ids = ids;
+        }
+    }
 }
@@ -0,0 +1,250 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import info.gianlucacosta.balmung.lexicon.Adjective;
+import info.gianlucacosta.balmung.lexicon.Genus;
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.balmung.lexicon.Noun;
+import info.gianlucacosta.balmung.lexicon.Verb;
+import info.gianlucacosta.odin.storage.LexiconStatistics;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class HibernateLexiconStatistics implements LexiconStatistics {
+    private final SessionFactory sessionFactory;
+    private final boolean cached;
+
+    private final AtomicLong writesCount = new AtomicLong();
+
+    private final CachedAggregate<Map<String, Long>> lemmasByCategory =
+            new CachedAggregate<>(this::queryLemmasByCategory);
+
+    private final CachedAggregate<Map<Optional<Genus>, Long>> nounsByGenus =
+            new CachedAggregate<>(this::queryNounsByGenus);
+
+    private final CachedAggregate<Map<Class<? extends Lemma>, Long>> lemmasByWordClass =
+            new CachedAggregate<>(this::queryLemmasByWordClass);
+
+
+    public HibernateLexiconStatistics(SessionFactory sessionFactory, boolean cached) {
+        this.sessionFactory = sessionFactory;
+        this.cached = cached;
+    }
+
+
+    public boolean isCached() {
+        return cached;
+    }
+
+
+    public void invalidate() {
+        writesCount.incrementAndGet();
+    }
+
+
+    @Override
+    public Map<String, Long> countLemmasByCategory() {
+        return lemmasByCategory.get();
+    }
+
+
+    private Map<String, Long> queryLemmasByCategory() {
+        return queryGroupCounts(
+                "info.gianlucacosta.balmung.countLemmasByCategory",
+                group -> (String) group
+        );
+    }
+
+
+    private <K> Map<K, Long> queryGroupCounts(String queryName, Function<Object, K> keyMapper) {
+        try (Session session = sessionFactory.openSession()) {
+            List<Object[]> rows =
+                    session
+                            .createNamedQuery(queryName, Object[].class)
+                            .setReadOnly(true)
+                            .getResultList();
+
+            Map<K, Long> result = new HashMap<>();
+
+            rows.forEach(row ->
+                    result.put(
+                            keyMapper.apply(row[0]),
+                            ((Number) row[1]).longValue()
+                    )
+            );
+
+            return Collections.unmodifiableMap(result);
+        }
+    }
+
+
+    @Override
+    public Map<Optional<Genus>, Long> countNounsByGenus() {
+        return nounsByGenus.get();
+    }
+
+
+    private Map<Optional<Genus>, Long> queryNounsByGenus() {
+        return queryGroupCounts(
+                "info.gianlucacosta.balmung.countNounsByGenus",
+                group -> Optional.ofNullable((Genus) group)
+        );
+    }
+
+
+    @Override
+    public Map<Class<? extends Lemma>, Long> countLemmasByWordClass() {
+        return lemmasByWordClass.get();
+    }
+
+
+    private Map<Class<? extends Lemma>, Long> queryLemmasByWordClass() {
+        try (Session session = sessionFactory.openSession()) {
+            long lemmasCount = queryCount(session, "info.gianlucacosta.balmung.countLemmas");
+            long nounsCount = queryCount(session, "info.gianlucacosta.balmung.countNouns");
+            long verbsCount = queryCount(session, "info.gianlucacosta.balmung.countVerbs");
+            long adjectivesCount = queryCount(session, "info.gianlucacosta.balmung.countAdjectives");
+
+            Map<Class<? extends Lemma>, Long> result = new HashMap<>();
+
+            result.put(Lemma.class, lemmasCount - nounsCount - verbsCount - adjectivesCount);
+            result.put(Noun.class, nounsCount);
+            result.put(Verb.class, verbsCount);
+            result.put(Adjective.class, adjectivesCount);
+
+            return Collections.unmodifiableMap(result);
+        }
+    }
+
+
+    private static long queryCount(Session session, String queryName) {
+        return session
+                .createNamedQuery(queryName, Long.class)
+                .getSingleResult();
+    }
+
+
+    LemmasStamp readLemmasStamp() {
+        try (Session session = sessionFactory.openSession()) {
+            Object[] row =
+                    session
+                            .createNamedQuery("info.gianlucacosta.balmung.readLemmasStamp", Object[].class)
+                            .getSingleResult();
+
+            return new LemmasStamp(
+                    ((Number) row[0]).longValue(),
+                    row[1] != null ? ((Number) row[1]).longValue() : 0
+            );
+        }
+    }
+
+
+    private class CachedAggregate<T> {
+        private final Supplier<T> computation;
+
+        private final AtomicReference<CachedValue<T>> cachedValueReference = new AtomicReference<>();
+
+
+        CachedAggregate(Supplier<T> computation) {
+            this.computation = computation;
+        }
+
+
+        T get() {
+            if (!cached) {
+                return computation.get();
+            }
+
+            long currentWritesCount = writesCount.get();
+            LemmasStamp currentLemmasStamp = readLemmasStamp();
+
+            CachedValue<T> cachedValue = cachedValueReference.get();
+
+            if (cachedValue != null &&
+                    cachedValue.writesCount == currentWritesCount &&
+                    cachedValue.lemmasStamp.equals(currentLemmasStamp)) {
+                return cachedValue.value;
+            }
+
+            T value = computation.get();
+
+            cachedValueReference.set(new CachedValue<>(currentWritesCount, currentLemmasStamp, value));
+
+            return value;
+        }
+    }
+
+
+    private static class CachedValue<T> {
+        final long writesCount;
+        final LemmasStamp lemmasStamp;
+        final T value;
+
+        CachedValue(long writesCount, LemmasStamp lemmasStamp, T value) {
+            this.writesCount = writesCount;
+            this.lemmasStamp = lemmasStamp;
+            this.value = value;
+        }
+    }
+
+
+    static class LemmasStamp {
+        final long lemmasCount;
+        final long maxLemmaId;
+
+        LemmasStamp(long lemmasCount, long maxLemmaId) {
+            this.lemmasCount = lemmasCount;
+            this.maxLemmaId = maxLemmaId;
+        }
+
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            LemmasStamp that = (LemmasStamp) o;
+
+            if (lemmasCount != that.lemmasCount) return false;
+            return maxLemmaId == that.maxLemmaId;
+        }
+
+
+        @Override
+        public int hashCode() {
+            int result = (int) (lemmasCount ^ (lemmasCount >>> 32));
+            result = 31 * result + (int) (maxLemmaId ^ (maxLemmaId >>> 32));
+            return result;
+        }
+    }
+}
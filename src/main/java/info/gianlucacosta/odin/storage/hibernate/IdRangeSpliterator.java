@@ -0,0 +1,168 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+class IdRangeSpliterator<T> implements Spliterator<T> {
+    private final SessionFactory sessionFactory;
+    private final String queryName;
+    private final Class<T> itemsClass;
+    private final int chunkSize;
+    private final Consumer<List<T>> chunkInitializer;
+    private final Set<Session> openSessions;
+
+    private long lowerId;
+    private final long upperId;
+
+    private Session session;
+    private KeysetSpliterator<T> rangeSpliterator;
+
+
+    public IdRangeSpliterator(
+            SessionFactory sessionFactory,
+            String queryName,
+            Class<T> itemsClass,
+            int chunkSize,
+            Consumer<List<T>> chunkInitializer,
+            Set<Session> openSessions,
+            long lowerId,
+            long upperId
+    ) {
+        this.sessionFactory = sessionFactory;
+        this.queryName = queryName;
+        this.itemsClass = itemsClass;
+        this.chunkSize = chunkSize;
+        this.chunkInitializer = chunkInitializer;
+        this.openSessions = openSessions;
+        this.lowerId = lowerId;
+        this.upperId = upperId;
+    }
+
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (rangeSpliterator == null) {
+            if (session != null) {
+                return false;
+            }
+
+            openRange();
+        }
+
+        if (rangeSpliterator.tryAdvance(action)) {
+            return true;
+        }
+
+        closeRange();
+
+        return false;
+    }
+
+
+    private void openRange() {
+        session = sessionFactory.openSession();
+        openSessions.add(session);
+
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+
+        rangeSpliterator =
+                new KeysetSpliterator<>(
+                        session,
+                        (chunkSession, lastId) ->
+                                chunkSession
+                                        .createNamedQuery(
+                                                queryName,
+                                                itemsClass
+                                        )
+                                        .setParameter("lastId", lastId)
+                                        .setParameter("maxId", upperId),
+                        chunkSize,
+                        chunkInitializer,
+                        lowerId - 1
+                );
+    }
+
+
+    private void closeRange() {
+        rangeSpliterator = null;
+
+        if (openSessions.remove(session)) {
+            session.close();
+        }
+    }
+
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (session != null) {
+            return null;
+        }
+
+        long rangeSize = upperId - lowerId + 1;
+
+        if (rangeSize < 2L * chunkSize) {
+            return null;
+        }
+
+        long middleId = lowerId + rangeSize / 2 - 1;
+
+        IdRangeSpliterator<T> prefixSpliterator =
+                new IdRangeSpliterator<>(
+                        sessionFactory,
+                        queryName,
+                        itemsClass,
+                        chunkSize,
+                        chunkInitializer,
+                        openSessions,
+                        lowerId,
+                        middleId
+                );
+
+        lowerId = middleId + 1;
+
+        return prefixSpliterator;
+    }
+
+
+    @Override
+    public long estimateSize() {
+        return session != null ?
+                Long.MAX_VALUE
+                :
+                upperId - lowerId + 1;
+    }
+
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+    }
+}
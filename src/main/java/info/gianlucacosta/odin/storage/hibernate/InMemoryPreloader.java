@@ -0,0 +1,243 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+class InMemoryPreloader {
+    private static final int COPY_BATCH_SIZE = 1000;
+
+    private static final Logger logger = Logger.getLogger(InMemoryPreloader.class.getName());
+
+    private final String sourceConnectionString;
+    private final String targetConnectionString;
+
+
+    public InMemoryPreloader(String sourceConnectionString, String targetConnectionString) {
+        this.sourceConnectionString = sourceConnectionString;
+        this.targetConnectionString = targetConnectionString;
+    }
+
+
+    public void copy(boolean parallelCopy) {
+        try (Connection sourceConnection = DriverManager.getConnection(sourceConnectionString);
+             Connection targetConnection = DriverManager.getConnection(targetConnectionString)) {
+            List<String> tableNames = readTableNames(sourceConnection);
+
+            try (Statement statement = targetConnection.createStatement()) {
+                statement.execute("SET DATABASE REFERENTIAL INTEGRITY FALSE");
+            }
+
+            try {
+                if (parallelCopy) {
+                    copyTablesInParallel(tableNames);
+                } else {
+                    for (String tableName : tableNames) {
+                        copyTable(sourceConnection, targetConnection, tableName);
+                    }
+                }
+            } finally {
+                try (Statement statement = targetConnection.createStatement()) {
+                    statement.execute("SET DATABASE REFERENTIAL INTEGRITY TRUE");
+                }
+            }
+
+            copySequences(sourceConnection, targetConnection);
+        } catch (SQLException ex) {
+            throw new RuntimeException("Error while preloading the DB into memory", ex);
+        }
+    }
+
+
+    public void lockTarget() {
+        try (Connection targetConnection = DriverManager.getConnection(targetConnectionString);
+             Statement statement = targetConnection.createStatement()) {
+            for (String tableName : readTableNames(targetConnection)) {
+                statement.execute(
+                        String.format("SET TABLE \"%s\" READONLY TRUE", tableName)
+                );
+            }
+        } catch (SQLException ex) {
+            throw new RuntimeException("Error while locking the preloaded DB", ex);
+        }
+    }
+
+
+    private static List<String> readTableNames(Connection connection) throws SQLException {
+        List<String> tableNames = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES " +
+                             "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'"
+             )) {
+            while (resultSet.next()) {
+                tableNames.add(resultSet.getString(1));
+            }
+        }
+
+        return Collections.unmodifiableList(tableNames);
+    }
+
+
+    private void copyTablesInParallel(List<String> tableNames) throws SQLException {
+        ExecutorService executorService =
+                Executors.newFixedThreadPool(
+                        Math.max(1, Math.min(tableNames.size(), Runtime.getRuntime().availableProcessors()))
+                );
+
+        try {
+            List<Future<Void>> copyFutures =
+                    tableNames
+                            .stream()
+                            .map(tableName ->
+                                    executorService.submit(() -> {
+                                        try (Connection sourceConnection = DriverManager.getConnection(sourceConnectionString);
+                                             Connection targetConnection = DriverManager.getConnection(targetConnectionString)) {
+                                            copyTable(sourceConnection, targetConnection, tableName);
+                                        }
+
+                                        return (Void) null;
+                                    })
+                            )
+                            .collect(Collectors.toList());
+
+            for (Future<Void> copyFuture : copyFutures) {
+                try {
+                    copyFuture.get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while preloading the DB into memory", ex);
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+
+                    if (cause instanceof SQLException) {
+                        throw (SQLException) cause;
+                    }
+
+                    throw new RuntimeException("Error while preloading the DB into memory", cause);
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+
+    private static void copyTable(Connection sourceConnection, Connection targetConnection, String tableName) throws SQLException {
+        boolean targetAutoCommit = targetConnection.getAutoCommit();
+        targetConnection.setAutoCommit(false);
+
+        long copiedRowsCount = 0;
+
+        try (Statement sourceStatement = sourceConnection.createStatement()) {
+            sourceStatement.setFetchSize(COPY_BATCH_SIZE);
+
+            try (ResultSet resultSet = sourceStatement.executeQuery(
+                    String.format("SELECT * FROM \"%s\"", tableName)
+            )) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                int columnsCount = metaData.getColumnCount();
+
+                List<String> columnNames = new ArrayList<>();
+                for (int columnIndex = 1; columnIndex <= columnsCount; columnIndex++) {
+                    columnNames.add(String.format("\"%s\"", metaData.getColumnName(columnIndex)));
+                }
+
+                String insertSql =
+                        String.format(
+                                "INSERT INTO \"%s\" (%s) VALUES (%s)",
+                                tableName,
+                                String.join(", ", columnNames),
+                                String.join(", ", Collections.nCopies(columnsCount, "?"))
+                        );
+
+                try (PreparedStatement insertStatement = targetConnection.prepareStatement(insertSql)) {
+                    while (resultSet.next()) {
+                        for (int columnIndex = 1; columnIndex <= columnsCount; columnIndex++) {
+                            insertStatement.setObject(columnIndex, resultSet.getObject(columnIndex));
+                        }
+
+                        insertStatement.addBatch();
+                        copiedRowsCount++;
+
+                        if (copiedRowsCount % COPY_BATCH_SIZE == 0) {
+                            insertStatement.executeBatch();
+                            targetConnection.commit();
+                        }
+                    }
+
+                    if (copiedRowsCount % COPY_BATCH_SIZE != 0) {
+                        insertStatement.executeBatch();
+                        targetConnection.commit();
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            targetConnection.rollback();
+            throw ex;
+        } finally {
+            targetConnection.setAutoCommit(targetAutoCommit);
+        }
+
+        long loggedRowsCount = copiedRowsCount;
+
+        logger.fine(() ->
+                String.format("Preloaded %d rows of table %s", loggedRowsCount, tableName)
+        );
+    }
+
+
+    private static void copySequences(Connection sourceConnection, Connection targetConnection) throws SQLException {
+        try (Statement sourceStatement = sourceConnection.createStatement();
+             ResultSet resultSet = sourceStatement.executeQuery(
+                     "SELECT SEQUENCE_NAME, NEXT_VALUE FROM INFORMATION_SCHEMA.SEQUENCES " +
+                             "WHERE SEQUENCE_SCHEMA = 'PUBLIC'"
+             );
+             Statement targetStatement = targetConnection.createStatement()) {
+            while (resultSet.next()) {
+                targetStatement.execute(
+                        String.format(
+                                "ALTER SEQUENCE \"%s\" RESTART WITH %s",
+                                resultSet.getString(1),
+                                resultSet.getString(2)
+                        )
+                );
+            }
+        }
+    }
+}
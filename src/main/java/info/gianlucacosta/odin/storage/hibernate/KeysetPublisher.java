@@ -0,0 +1,206 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.Query;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+class KeysetPublisher<T> implements Publisher<T> {
+    private static final Logger logger = Logger.getLogger(KeysetPublisher.class.getName());
+
+    private final SessionFactory sessionFactory;
+    private final BiFunction<Session, Long, Query<T>> chunkQueryFactory;
+    private final int chunkSize;
+    private final Consumer<List<T>> chunkInitializer;
+
+
+    public KeysetPublisher(
+            SessionFactory sessionFactory,
+            BiFunction<Session, Long, Query<T>> chunkQueryFactory,
+            int chunkSize,
+            Consumer<List<T>> chunkInitializer
+    ) {
+        this.sessionFactory = sessionFactory;
+        this.chunkQueryFactory = chunkQueryFactory;
+        this.chunkSize = chunkSize;
+        this.chunkInitializer = chunkInitializer;
+    }
+
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+
+        subscriber.onSubscribe(
+                new KeysetSubscription(subscriber)
+        );
+    }
+
+
+    private class KeysetSubscription implements Subscription {
+        private final Subscriber<? super T> subscriber;
+
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private final AtomicReference<Throwable> requestErrorReference = new AtomicReference<>();
+
+        private final Queue<T> bufferedItems = new ArrayDeque<>();
+        private long lastId = Long.MIN_VALUE;
+        private boolean lastChunkFetched;
+
+        private volatile boolean terminated;
+
+
+        KeysetSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+
+        @Override
+        public void request(long itemsCount) {
+            if (terminated) {
+                return;
+            }
+
+            if (itemsCount < 1) {
+                requestErrorReference.compareAndSet(
+                        null,
+                        new IllegalArgumentException("The requested items count must be > 0")
+                );
+            } else {
+                demand.getAndUpdate(currentDemand -> {
+                    long newDemand = currentDemand + itemsCount;
+
+                    return newDemand < 0 ? Long.MAX_VALUE : newDemand;
+                });
+            }
+
+            drain();
+        }
+
+
+        @Override
+        public void cancel() {
+            terminated = true;
+        }
+
+
+        private void drain() {
+            if (pendingDrains.getAndIncrement() != 0) {
+                return;
+            }
+
+            do {
+                try {
+                    emitRequestedItems();
+                } catch (Exception ex) {
+                    terminated = true;
+                    subscriber.onError(ex);
+                }
+            } while (pendingDrains.decrementAndGet() != 0);
+        }
+
+
+        private void emitRequestedItems() {
+            while (!terminated) {
+                Throwable requestError = requestErrorReference.get();
+
+                if (requestError != null) {
+                    terminated = true;
+                    subscriber.onError(requestError);
+                    return;
+                }
+
+                if (bufferedItems.isEmpty()) {
+                    if (lastChunkFetched) {
+                        terminated = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+
+                    if (demand.get() == 0) {
+                        return;
+                    }
+
+                    bufferedItems.addAll(fetchNextChunk());
+                    continue;
+                }
+
+                if (demand.get() == 0) {
+                    return;
+                }
+
+                demand.decrementAndGet();
+
+                try {
+                    subscriber.onNext(bufferedItems.poll());
+                } catch (RuntimeException ex) {
+                    terminated = true;
+
+                    logger.warning(() -> String.format("Cancelling the subscription, as the subscriber failed while receiving an item: %s", ex));
+                    return;
+                }
+            }
+        }
+
+
+        private List<T> fetchNextChunk() {
+            try (Session session = sessionFactory.openSession()) {
+                session.setDefaultReadOnly(true);
+
+                List<T> chunk =
+                        chunkQueryFactory.apply(session, lastId)
+                                .setMaxResults(chunkSize)
+                                .setFetchSize(chunkSize)
+                                .setReadOnly(true)
+                                .list();
+
+                chunkInitializer.accept(chunk);
+
+                if (chunk.size() < chunkSize) {
+                    lastChunkFetched = true;
+                }
+
+                if (!chunk.isEmpty()) {
+                    lastId = ((Number) session.getIdentifier(chunk.get(chunk.size() - 1))).longValue();
+                }
+
+                return chunk;
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+class KeysetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+    private final Session session;
+    private final BiFunction<Session, Long, Query<T>> chunkQueryFactory;
+    private final int chunkSize;
+    private final Consumer<List<T>> chunkInitializer;
+
+    private Iterator<T> chunkIterator;
+    private long lastId;
+    private boolean lastChunkFetched;
+
+
+    public KeysetSpliterator(
+            Session session,
+            BiFunction<Session, Long, Query<T>> chunkQueryFactory,
+            int chunkSize,
+            Consumer<List<T>> chunkInitializer
+    ) {
+        this(session, chunkQueryFactory, chunkSize, chunkInitializer, Long.MIN_VALUE);
+    }
+
+
+    public KeysetSpliterator(
+            Session session,
+            BiFunction<Session, Long, Query<T>> chunkQueryFactory,
+            int chunkSize,
+            Consumer<List<T>> chunkInitializer,
+            long lastId
+    ) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+
+        this.session = session;
+        this.chunkQueryFactory = chunkQueryFactory;
+        this.chunkSize = chunkSize;
+        this.chunkInitializer = chunkInitializer;
+
+        this.lastId = lastId;
+    }
+
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (chunkIterator == null || !chunkIterator.hasNext()) {
+            if (lastChunkFetched) {
+                return false;
+            }
+
+            chunkIterator = fetchNextChunk().iterator();
+        }
+
+        action.accept(chunkIterator.next());
+
+        return true;
+    }
+
+
+    private List<T> fetchNextChunk() {
+        session.clear();
+
+        Query<T> chunkQuery =
+                chunkQueryFactory.apply(session, lastId)
+                        .setMaxResults(chunkSize)
+                        .setFetchSize(chunkSize)
+                        .setReadOnly(true);
+
+        List<T> chunk = chunkQuery.list();
+
+        chunkInitializer.accept(chunk);
+
+        if (chunk.size() < chunkSize) {
+            lastChunkFetched = true;
+        }
+
+        if (!chunk.isEmpty()) {
+            lastId = ((Number) session.getIdentifier(chunk.get(chunk.size() - 1))).longValue();
+        }
+
+        return chunk;
+    }
+}
@@ -20,37 +20,138 @@
 
 package info.gianlucacosta.odin.storage.hibernate;
 
-import info.gianlucacosta.balmung.lexicon.Adjective;
-import info.gianlucacosta.balmung.lexicon.Lemma;
-import info.gianlucacosta.balmung.lexicon.Noun;
-import info.gianlucacosta.balmung.lexicon.Verb;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
-import org.hibernate.boot.Metadata;
-import org.hibernate.boot.MetadataSources;
-import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.Transaction;
+import org.hibernate.c3p0.internal.C3P0ConnectionProvider;
 import org.hibernate.cfg.AvailableSettings;
-import org.hibernate.service.ServiceRegistry;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.UUID;
 
 public class LocalDatabase {
+    public static final int DEFAULT_BATCH_FETCH_SIZE = HibernateLexicon.DEFAULT_STREAMING_CHUNK_SIZE;
+    public static final int JDBC_BATCH_SIZE = 100;
+
+    private static final String SCHEMA_ACTION_NONE = "none";
+    private static final String SCHEMA_ACTION_CREATE = "create-only";
+    private static final String IN_MEMORY_CONNECTION_PREFIX = "jdbc:hsqldb:mem:";
+    private static final String C3P0_TEST_ON_CHECKOUT_SETTING = "hibernate.c3p0.testConnectionOnCheckout";
+
+    private static final String FILES_READONLY_PROPERTY = "files_readonly";
+    private static final String READONLY_PROPERTY = "readonly";
+
+    private static final String SHARDS_MANIFEST_FILE_NAME = "shards.properties";
+    private static final String SHARDS_COUNT_PROPERTY = "shardsCount";
+    private static final String SHARDING_STRATEGY_PROPERTY = "shardingStrategy";
+
+    public static List<LocalDatabase> createShards(Optional<Path> rootDirectoryPathOption, int shardsCount, ShardingStrategy shardingStrategy, LocalDatabaseSettings settings) {
+        if (shardsCount < 1) {
+            throw new IllegalArgumentException("The shards count must be > 0");
+        }
+
+        rootDirectoryPathOption.ifPresent(rootDirectoryPath ->
+                checkShardsManifest(rootDirectoryPath, shardsCount, shardingStrategy)
+        );
+
+        List<LocalDatabase> shards = new ArrayList<>(shardsCount);
+
+        for (int shardIndex = 0; shardIndex < shardsCount; shardIndex++) {
+            String shardName = String.format("shard-%02d", shardIndex);
+
+            shards.add(
+                    new LocalDatabase(
+                            rootDirectoryPathOption.map(rootDirectoryPath ->
+                                    rootDirectoryPath.resolve(shardName)
+                            ),
+                            settings
+                    )
+            );
+        }
+
+        return shards;
+    }
+
+
+    private static void checkShardsManifest(Path rootDirectoryPath, int shardsCount, ShardingStrategy shardingStrategy) {
+        Path manifestPath = rootDirectoryPath.resolve(SHARDS_MANIFEST_FILE_NAME);
+        Properties manifest = new Properties();
+
+        if (Files.isRegularFile(manifestPath)) {
+            try (InputStream inputStream = Files.newInputStream(manifestPath)) {
+                manifest.load(inputStream);
+            } catch (IOException ex) {
+                throw new RuntimeException("Error while reading the shards manifest", ex);
+            }
+
+            String storedShardsCount = manifest.getProperty(SHARDS_COUNT_PROPERTY);
+            String storedShardingStrategy = manifest.getProperty(SHARDING_STRATEGY_PROPERTY);
+
+            if (!String.valueOf(shardsCount).equals(storedShardsCount) ||
+                    !shardingStrategy.name().equals(storedShardingStrategy)) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "The shards in '%s' were created with count %s and strategy %s, not with count %d and strategy %s",
+                                rootDirectoryPath,
+                                storedShardsCount,
+                                storedShardingStrategy,
+                                shardsCount,
+                                shardingStrategy
+                        )
+                );
+            }
+
+            return;
+        }
+
+        manifest.setProperty(SHARDS_COUNT_PROPERTY, String.valueOf(shardsCount));
+        manifest.setProperty(SHARDING_STRATEGY_PROPERTY, shardingStrategy.name());
+
+        try {
+            Files.createDirectories(rootDirectoryPath);
+
+            try (OutputStream outputStream = Files.newOutputStream(manifestPath)) {
+                manifest.store(outputStream, null);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Error while writing the shards manifest", ex);
+        }
+    }
+
+
     private final Optional<Path> rootDirectoryPathOption;
     private final Optional<Path> dataDirectoryPathOption;
+    private final LocalDatabaseSettings settings;
 
     public LocalDatabase() {
         this(Optional.empty());
     }
 
     public LocalDatabase(Optional<Path> rootDirectoryPathOption) {
+        this(rootDirectoryPathOption, LocalDatabaseSettings.defaults());
+    }
+
+    public LocalDatabase(Optional<Path> rootDirectoryPathOption, LocalDatabaseSettings settings) {
         this.rootDirectoryPathOption = rootDirectoryPathOption;
         this.dataDirectoryPathOption =
                 rootDirectoryPathOption.map(rootDirectoryPath ->
                         rootDirectoryPath.resolve("data")
                 );
+        this.settings = settings;
     }
 
     public Optional<Path> getRootDirectoryPathOption() {
@@ -58,6 +159,11 @@ public class LocalDatabase {
     }
 
 
+    public LocalDatabaseSettings getSettings() {
+        return settings;
+    }
+
+
     public boolean isInMemory() {
         return !rootDirectoryPathOption.isPresent();
     }
@@ -65,20 +171,107 @@ public class LocalDatabase {
     public boolean exists() {
         return !isInMemory() &&
                 Files.isRegularFile(
-                        rootDirectoryPathOption.get().resolve("data.properties")
+                        getDataPropertiesPath()
                 );
     }
 
 
+    private Path getDataPropertiesPath() {
+        return rootDirectoryPathOption.get().resolve("data.properties");
+    }
+
+
+    public boolean isSnapshot() {
+        if (!exists()) {
+            return false;
+        }
+
+        Properties dataProperties = readDataProperties();
+
+        return Boolean.parseBoolean(dataProperties.getProperty(FILES_READONLY_PROPERTY)) ||
+                Boolean.parseBoolean(dataProperties.getProperty(READONLY_PROPERTY));
+    }
+
+
+    private Properties readDataProperties() {
+        Properties dataProperties = new Properties();
+
+        try (InputStream inputStream = Files.newInputStream(getDataPropertiesPath())) {
+            dataProperties.load(inputStream);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error while reading the DB properties", ex);
+        }
+
+        return dataProperties;
+    }
+
+
+    public void createSnapshot() {
+        if (!exists()) {
+            throw new IllegalStateException("Only existing file databases can become snapshots");
+        }
+
+        try (Connection connection = DriverManager.getConnection(getConnectionString())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN COMPACT");
+            }
+        } catch (SQLException ex) {
+            throw new RuntimeException("Error while compacting the DB", ex);
+        }
+
+        Properties dataProperties = readDataProperties();
+        dataProperties.setProperty(FILES_READONLY_PROPERTY, "true");
+        dataProperties.setProperty(READONLY_PROPERTY, "true");
+
+        try (OutputStream outputStream = Files.newOutputStream(getDataPropertiesPath())) {
+            dataProperties.store(outputStream, null);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error while writing the DB properties", ex);
+        }
+    }
+
+
     public String getConnectionString() {
-        return isInMemory() ?
-                String.format("jdbc:hsqldb:mem:%s", UUID.randomUUID())
-                :
-                String.format("jdbc:hsqldb:file:%s", dataDirectoryPathOption.get());
+        String baseConnectionString =
+                isInMemory() ?
+                        String.format("jdbc:hsqldb:mem:%s", UUID.randomUUID())
+                        :
+                        String.format("jdbc:hsqldb:file:%s", dataDirectoryPathOption.get());
+
+        StringBuilder connectionStringBuilder = new StringBuilder(baseConnectionString);
+
+        settings.getConnectionProperties().forEach((key, value) ->
+                connectionStringBuilder.append(String.format(";%s=%s", key, value))
+        );
+
+        return connectionStringBuilder.toString();
+    }
+
+
+    private void applySettingsToExistingDatabase(String connectionString) {
+        List<String> settingStatements = settings.getSettingStatements();
+
+        if (settingStatements.isEmpty()) {
+            return;
+        }
+
+        try (Connection connection = DriverManager.getConnection(connectionString);
+             Statement statement = connection.createStatement()) {
+            for (String settingStatement : settingStatements) {
+                statement.execute(settingStatement);
+            }
+        } catch (SQLException ex) {
+            throw new RuntimeException("Error while applying the DB settings", ex);
+        }
     }
 
 
     public SessionFactory createSessionFactory() {
+        return createSessionFactory(Optional.empty());
+    }
+
+
+    public SessionFactory createSessionFactory(Optional<SecondLevelCacheSettings> cacheSettingsOption) {
         rootDirectoryPathOption.ifPresent(rootDirectoryPath -> {
             try {
                 Files.createDirectories(rootDirectoryPath);
@@ -88,21 +281,199 @@ public class LocalDatabase {
         });
 
 
-        ServiceRegistry standardRegistry =
-                new StandardServiceRegistryBuilder()
-                        .applySetting(AvailableSettings.URL, getConnectionString())
-                        .build();
+        String connectionString = getConnectionString();
+
+        boolean snapshot = isSnapshot();
+
+        if (exists() && !snapshot) {
+            applySettingsToExistingDatabase(connectionString);
+        }
+
+        if (snapshot) {
+            return buildSessionFactory(connectionString, cacheSettingsOption);
+        }
+
+        SchemaManager schemaManager = new SchemaManager(connectionString);
+
+        SchemaManager.SchemaState schemaState = schemaManager.prepareSchema();
+
+        String schemaAction = getSchemaAction(schemaState);
+
+        if (!SCHEMA_ACTION_NONE.equals(schemaAction)) {
+            SharedBootstrap
+                    .get(cacheSettingsOption.isPresent())
+                    .applySchemaAction(connectionString, schemaAction);
+        }
+
+        SessionFactory sessionFactory =
+                buildSessionFactory(connectionString, cacheSettingsOption);
+
+        if (schemaState != SchemaManager.SchemaState.CURRENT) {
+            try {
+                insertMissingSyllablesCounts(sessionFactory);
+
+                if (schemaState != SchemaManager.SchemaState.MIGRATED) {
+                    schemaManager.markSchemaAsCurrent();
+                }
+            } catch (RuntimeException ex) {
+                sessionFactory.close();
+
+                throw ex;
+            }
+        }
+
+        return sessionFactory;
+    }
+
+
+    private static void insertMissingSyllablesCounts(SessionFactory sessionFactory) {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+
+            try {
+                List<Object[]> missingSyllablesCounts =
+                        session
+                                .createNamedQuery(
+                                        "info.gianlucacosta.balmung.readMissingSyllablesCounts",
+                                        Object[].class
+                                )
+                                .getResultList();
+
+                int pendingCountsCount = 0;
+
+                for (Object[] row : missingSyllablesCounts) {
+                    session.persist(
+                            new LemmaSyllablesCount(
+                                    ((Number) row[0]).longValue(),
+                                    ((Number) row[1]).intValue()
+                            )
+                    );
+
+                    pendingCountsCount++;
+
+                    if (pendingCountsCount == JDBC_BATCH_SIZE) {
+                        session.flush();
+                        session.clear();
+                        pendingCountsCount = 0;
+                    }
+                }
+
+                transaction.commit();
+            } finally {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+            }
+        }
+    }
+
+
+    private String getSchemaAction(SchemaManager.SchemaState schemaState) {
+        switch (schemaState) {
+            case EMPTY:
+                return SCHEMA_ACTION_CREATE;
+
+            case UNVERSIONED:
+                return "update";
+
+            case MIGRATED:
+            case CURRENT:
+                return settings.isSchemaValidated() ? "validate" : SCHEMA_ACTION_NONE;
+
+            default:
+                throw new IllegalArgumentException(
+                        String.format("Unexpected schema state: %s", schemaState)
+                );
+        }
+    }
+
+
+    public SessionFactory createPreloadedSessionFactory(boolean parallelCopy) {
+        return createPreloadedSessionFactory(parallelCopy, Optional.empty());
+    }
+
+
+    public SessionFactory createPreloadedSessionFactory(boolean parallelCopy, Optional<SecondLevelCacheSettings> cacheSettingsOption) {
+        if (!exists()) {
+            throw new IllegalStateException("Only existing file databases can be preloaded");
+        }
+
+        String inMemoryConnectionString =
+                String.format("jdbc:hsqldb:mem:%s", UUID.randomUUID());
+
+        SharedBootstrap
+                .get(cacheSettingsOption.isPresent())
+                .applySchemaAction(inMemoryConnectionString, SCHEMA_ACTION_CREATE);
+
+        SessionFactory sessionFactory =
+                buildSessionFactory(inMemoryConnectionString, cacheSettingsOption);
+
+        try {
+            new SchemaManager(inMemoryConnectionString).createVersionTable();
+
+            InMemoryPreloader preloader =
+                    new InMemoryPreloader(
+                            String.format("%s;shutdown=true", getConnectionString()),
+                            inMemoryConnectionString
+                    );
+
+            preloader.copy(parallelCopy);
+
+            insertMissingSyllablesCounts(sessionFactory);
+
+            preloader.lockTarget();
+        } catch (RuntimeException ex) {
+            sessionFactory.close();
+
+            throw ex;
+        }
+
+        return sessionFactory;
+    }
+
+
+    private Map<String, Object> createConnectionSettings(String connectionString) {
+        Map<String, Object> connectionSettings = new HashMap<>();
+
+        connectionSettings.put(AvailableSettings.URL, connectionString);
+
+        if (!connectionString.startsWith(IN_MEMORY_CONNECTION_PREFIX)) {
+            settings.getConnectionPoolSettingsOption().ifPresent(connectionPoolSettings ->
+                    applyConnectionPoolSettings(connectionSettings, connectionPoolSettings)
+            );
+        }
+
+        settings.getIsolationLevelOption().ifPresent(isolationLevel ->
+                connectionSettings.put(AvailableSettings.ISOLATION, isolationLevel.getJdbcLevel())
+        );
+
+        return connectionSettings;
+    }
+
+
+    private static void applyConnectionPoolSettings(Map<String, Object> connectionSettings, ConnectionPoolSettings connectionPoolSettings) {
+        connectionSettings.put(AvailableSettings.CONNECTION_PROVIDER, C3P0ConnectionProvider.class.getName());
+        connectionSettings.put(AvailableSettings.C3P0_MIN_SIZE, connectionPoolSettings.getMinSize());
+        connectionSettings.put(AvailableSettings.C3P0_MAX_SIZE, connectionPoolSettings.getMaxSize());
+        connectionSettings.put(AvailableSettings.C3P0_MAX_STATEMENTS, connectionPoolSettings.getMaxStatements());
+        connectionSettings.put(AvailableSettings.C3P0_IDLE_TEST_PERIOD, connectionPoolSettings.getIdleValidationPeriodSeconds());
+        connectionSettings.put(C3P0_TEST_ON_CHECKOUT_SETTING, connectionPoolSettings.isValidatedOnCheckout());
+    }
+
+
+    private SessionFactory buildSessionFactory(String connectionString, Optional<SecondLevelCacheSettings> cacheSettingsOption) {
+        Map<String, Object> connectionSettings = createConnectionSettings(connectionString);
 
-        Metadata metadata =
-                new MetadataSources(standardRegistry)
-                        .addAnnotatedClass(Lemma.class)
-                        .addAnnotatedClass(Noun.class)
-                        .addAnnotatedClass(Verb.class)
-                        .addAnnotatedClass(Adjective.class)
-                        .addResource(getClass().getResource("Queries.hbm.xml").toExternalForm())
-                        .buildMetadata();
+        if (!cacheSettingsOption.isPresent()) {
+            return SharedBootstrap
+                    .get(false)
+                    .buildSessionFactory(connectionSettings, Optional.empty());
+        }
 
-        return metadata
-                .buildSessionFactory();
+        try (EhCacheConfigurationFile cacheConfigurationFile = EhCacheConfigurationFile.create(cacheSettingsOption.get())) {
+            return SharedBootstrap
+                    .get(true)
+                    .buildSessionFactory(connectionSettings, Optional.of(cacheConfigurationFile.getUrl()));
+        }
     }
 }
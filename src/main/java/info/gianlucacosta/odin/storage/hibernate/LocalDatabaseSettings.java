@@ -0,0 +1,485 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class LocalDatabaseSettings {
+    public enum TableType {
+        MEMORY,
+        CACHED
+    }
+
+
+    public enum TransactionControl {
+        LOCKS,
+        MVLOCKS,
+        MVCC
+    }
+
+
+    public enum IsolationLevel {
+        READ_COMMITTED("READ COMMITTED", Connection.TRANSACTION_READ_COMMITTED),
+        SERIALIZABLE("SERIALIZABLE", Connection.TRANSACTION_SERIALIZABLE);
+
+        private final String sqlName;
+        private final int jdbcLevel;
+
+
+        IsolationLevel(String sqlName, int jdbcLevel) {
+            this.sqlName = sqlName;
+            this.jdbcLevel = jdbcLevel;
+        }
+
+
+        public String getSqlName() {
+            return sqlName;
+        }
+
+
+        public int getJdbcLevel() {
+            return jdbcLevel;
+        }
+    }
+
+
+    private static final LocalDatabaseSettings DEFAULTS = builder().build();
+
+
+    public static LocalDatabaseSettings defaults() {
+        return DEFAULTS;
+    }
+
+
+    public static LocalDatabaseSettings bulkImport() {
+        return builder()
+                .tableType(TableType.CACHED)
+                .cacheRows(100_000)
+                .cacheSizeKb(100_000)
+                .nioDataFile(true)
+                .nioMaxSizeMb(1024)
+                .logSizeMb(200)
+                .writeDelayMillis(10_000)
+                .transactionControl(TransactionControl.MVCC)
+                .isolationLevel(IsolationLevel.READ_COMMITTED)
+                .build();
+    }
+
+
+    public static LocalDatabaseSettings readMostlyService() {
+        return builder()
+                .tableType(TableType.CACHED)
+                .cacheRows(200_000)
+                .cacheSizeKb(200_000)
+                .nioDataFile(true)
+                .nioMaxSizeMb(1024)
+                .logSizeMb(50)
+                .writeDelayMillis(500)
+                .transactionControl(TransactionControl.MVCC)
+                .isolationLevel(IsolationLevel.READ_COMMITTED)
+                .build();
+    }
+
+
+    public static LocalDatabaseSettings lowMemory() {
+        return builder()
+                .tableType(TableType.CACHED)
+                .cacheRows(5_000)
+                .cacheSizeKb(5_000)
+                .nioDataFile(false)
+                .logSizeMb(10)
+                .writeDelayMillis(500)
+                .build();
+    }
+
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+
+    private final Optional<TableType> tableTypeOption;
+    private final Optional<Integer> cacheRowsOption;
+    private final Optional<Integer> cacheSizeKbOption;
+    private final Optional<Boolean> nioDataFileOption;
+    private final Optional<Integer> nioMaxSizeMbOption;
+    private final Optional<Integer> logSizeMbOption;
+    private final Optional<Integer> writeDelayMillisOption;
+    private final Optional<TransactionControl> transactionControlOption;
+    private final Optional<IsolationLevel> isolationLevelOption;
+    private final boolean schemaValidated;
+    private final Optional<ConnectionPoolSettings> connectionPoolSettingsOption;
+
+
+    private LocalDatabaseSettings(Builder builder) {
+        this.tableTypeOption = builder.tableTypeOption;
+        this.cacheRowsOption = builder.cacheRowsOption;
+        this.cacheSizeKbOption = builder.cacheSizeKbOption;
+        this.nioDataFileOption = builder.nioDataFileOption;
+        this.nioMaxSizeMbOption = builder.nioMaxSizeMbOption;
+        this.logSizeMbOption = builder.logSizeMbOption;
+        this.writeDelayMillisOption = builder.writeDelayMillisOption;
+        this.transactionControlOption = builder.transactionControlOption;
+        this.isolationLevelOption = builder.isolationLevelOption;
+        this.schemaValidated = builder.schemaValidated;
+        this.connectionPoolSettingsOption = builder.connectionPoolSettingsOption;
+    }
+
+
+    public Optional<TableType> getTableTypeOption() {
+        return tableTypeOption;
+    }
+
+
+    public Optional<Integer> getCacheRowsOption() {
+        return cacheRowsOption;
+    }
+
+
+    public Optional<Integer> getCacheSizeKbOption() {
+        return cacheSizeKbOption;
+    }
+
+
+    public Optional<Boolean> getNioDataFileOption() {
+        return nioDataFileOption;
+    }
+
+
+    public Optional<Integer> getNioMaxSizeMbOption() {
+        return nioMaxSizeMbOption;
+    }
+
+
+    public Optional<Integer> getLogSizeMbOption() {
+        return logSizeMbOption;
+    }
+
+
+    public Optional<Integer> getWriteDelayMillisOption() {
+        return writeDelayMillisOption;
+    }
+
+
+    public Optional<TransactionControl> getTransactionControlOption() {
+        return transactionControlOption;
+    }
+
+
+    public Optional<IsolationLevel> getIsolationLevelOption() {
+        return isolationLevelOption;
+    }
+
+
+    public boolean isSchemaValidated() {
+        return schemaValidated;
+    }
+
+
+    public Optional<ConnectionPoolSettings> getConnectionPoolSettingsOption() {
+        return connectionPoolSettingsOption;
+    }
+
+
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+
+    Map<String, String> getConnectionProperties() {
+        Map<String, String> connectionProperties = new LinkedHashMap<>();
+
+        tableTypeOption.ifPresent(tableType ->
+                connectionProperties.put("hsqldb.default_table_type", tableType.name().toLowerCase())
+        );
+
+        cacheRowsOption.ifPresent(cacheRows ->
+                connectionProperties.put("hsqldb.cache_rows", cacheRows.toString())
+        );
+
+        cacheSizeKbOption.ifPresent(cacheSizeKb ->
+                connectionProperties.put("hsqldb.cache_size", cacheSizeKb.toString())
+        );
+
+        nioDataFileOption.ifPresent(nioDataFile ->
+                connectionProperties.put("hsqldb.nio_data_file", nioDataFile.toString())
+        );
+
+        nioMaxSizeMbOption.ifPresent(nioMaxSizeMb ->
+                connectionProperties.put("hsqldb.nio_max_size", nioMaxSizeMb.toString())
+        );
+
+        logSizeMbOption.ifPresent(logSizeMb ->
+                connectionProperties.put("hsqldb.log_size", logSizeMb.toString())
+        );
+
+        writeDelayMillisOption.ifPresent(writeDelayMillis ->
+                connectionProperties.put("hsqldb.write_delay_millis", writeDelayMillis.toString())
+        );
+
+        transactionControlOption.ifPresent(transactionControl ->
+                connectionProperties.put("hsqldb.tx", transactionControl.name().toLowerCase())
+        );
+
+        isolationLevelOption.ifPresent(isolationLevel ->
+                connectionProperties.put("hsqldb.tx_level", isolationLevel.name().toLowerCase())
+        );
+
+        return Collections.unmodifiableMap(connectionProperties);
+    }
+
+
+    List<String> getSettingStatements() {
+        List<String> settingStatements = new ArrayList<>();
+
+        tableTypeOption.ifPresent(tableType ->
+                settingStatements.add(String.format("SET DATABASE DEFAULT TABLE TYPE %s", tableType.name()))
+        );
+
+        cacheRowsOption.ifPresent(cacheRows ->
+                settingStatements.add(String.format("SET FILES CACHE ROWS %d", cacheRows))
+        );
+
+        cacheSizeKbOption.ifPresent(cacheSizeKb ->
+                settingStatements.add(String.format("SET FILES CACHE SIZE %d", cacheSizeKb))
+        );
+
+        nioDataFileOption.ifPresent(nioDataFile ->
+                settingStatements.add(String.format("SET FILES NIO %s", nioDataFile.toString().toUpperCase()))
+        );
+
+        nioMaxSizeMbOption.ifPresent(nioMaxSizeMb ->
+                settingStatements.add(String.format("SET FILES NIO SIZE %d", nioMaxSizeMb))
+        );
+
+        logSizeMbOption.ifPresent(logSizeMb ->
+                settingStatements.add(String.format("SET FILES LOG SIZE %d", logSizeMb))
+        );
+
+        writeDelayMillisOption.ifPresent(writeDelayMillis ->
+                settingStatements.add(String.format("SET FILES WRITE DELAY %d MILLIS", writeDelayMillis))
+        );
+
+        transactionControlOption.ifPresent(transactionControl ->
+                settingStatements.add(String.format("SET DATABASE TRANSACTION CONTROL %s", transactionControl.name()))
+        );
+
+        isolationLevelOption.ifPresent(isolationLevel ->
+                settingStatements.add(String.format("SET DATABASE DEFAULT ISOLATION LEVEL %s", isolationLevel.getSqlName()))
+        );
+
+        return Collections.unmodifiableList(settingStatements);
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LocalDatabaseSettings that = (LocalDatabaseSettings) o;
+
+        if (!tableTypeOption.equals(that.tableTypeOption)) return false;
+        if (!cacheRowsOption.equals(that.cacheRowsOption)) return false;
+        if (!cacheSizeKbOption.equals(that.cacheSizeKbOption)) return false;
+        if (!nioDataFileOption.equals(that.nioDataFileOption)) return false;
+        if (!nioMaxSizeMbOption.equals(that.nioMaxSizeMbOption)) return false;
+        if (!logSizeMbOption.equals(that.logSizeMbOption)) return false;
+        if (!writeDelayMillisOption.equals(that.writeDelayMillisOption)) return false;
+        if (!transactionControlOption.equals(that.transactionControlOption)) return false;
+        if (!isolationLevelOption.equals(that.isolationLevelOption)) return false;
+        if (schemaValidated != that.schemaValidated) return false;
+        return connectionPoolSettingsOption.equals(that.connectionPoolSettingsOption);
+    }
+
+
+    @Override
+    public int hashCode() {
+        int result = tableTypeOption.hashCode();
+        result = 31 * result + cacheRowsOption.hashCode();
+        result = 31 * result + cacheSizeKbOption.hashCode();
+        result = 31 * result + nioDataFileOption.hashCode();
+        result = 31 * result + nioMaxSizeMbOption.hashCode();
+        result = 31 * result + logSizeMbOption.hashCode();
+        result = 31 * result + writeDelayMillisOption.hashCode();
+        result = 31 * result + transactionControlOption.hashCode();
+        result = 31 * result + isolationLevelOption.hashCode();
+        result = 31 * result + (schemaValidated ? 1 : 0);
+        result = 31 * result + connectionPoolSettingsOption.hashCode();
+        return result;
+    }
+
+
+    @Override
+    public String toString() {
+        return "LocalDatabaseSettings{" +
+                "tableTypeOption=" + tableTypeOption +
+                ", cacheRowsOption=" + cacheRowsOption +
+                ", cacheSizeKbOption=" + cacheSizeKbOption +
+                ", nioDataFileOption=" + nioDataFileOption +
+                ", nioMaxSizeMbOption=" + nioMaxSizeMbOption +
+                ", logSizeMbOption=" + logSizeMbOption +
+                ", writeDelayMillisOption=" + writeDelayMillisOption +
+                ", transactionControlOption=" + transactionControlOption +
+                ", isolationLevelOption=" + isolationLevelOption +
+                ", schemaValidated=" + schemaValidated +
+                ", connectionPoolSettingsOption=" + connectionPoolSettingsOption +
+                '}';
+    }
+
+
+    public static class Builder {
+        private Optional<TableType> tableTypeOption = Optional.empty();
+        private Optional<Integer> cacheRowsOption = Optional.empty();
+        private Optional<Integer> cacheSizeKbOption = Optional.empty();
+        private Optional<Boolean> nioDataFileOption = Optional.empty();
+        private Optional<Integer> nioMaxSizeMbOption = Optional.empty();
+        private Optional<Integer> logSizeMbOption = Optional.empty();
+        private Optional<Integer> writeDelayMillisOption = Optional.empty();
+        private Optional<TransactionControl> transactionControlOption = Optional.empty();
+        private Optional<IsolationLevel> isolationLevelOption = Optional.empty();
+        private boolean schemaValidated;
+        private Optional<ConnectionPoolSettings> connectionPoolSettingsOption = Optional.of(ConnectionPoolSettings.defaults());
+
+
+        private Builder() {
+        }
+
+
+        private Builder(LocalDatabaseSettings settings) {
+            this.tableTypeOption = settings.tableTypeOption;
+            this.cacheRowsOption = settings.cacheRowsOption;
+            this.cacheSizeKbOption = settings.cacheSizeKbOption;
+            this.nioDataFileOption = settings.nioDataFileOption;
+            this.nioMaxSizeMbOption = settings.nioMaxSizeMbOption;
+            this.logSizeMbOption = settings.logSizeMbOption;
+            this.writeDelayMillisOption = settings.writeDelayMillisOption;
+            this.transactionControlOption = settings.transactionControlOption;
+            this.isolationLevelOption = settings.isolationLevelOption;
+            this.schemaValidated = settings.schemaValidated;
+            this.connectionPoolSettingsOption = settings.connectionPoolSettingsOption;
+        }
+
+
+        public Builder tableType(TableType tableType) {
+            this.tableTypeOption = Optional.of(tableType);
+            return this;
+        }
+
+
+        public Builder cacheRows(int cacheRows) {
+            requirePositive(cacheRows, "The cache rows");
+            this.cacheRowsOption = Optional.of(cacheRows);
+            return this;
+        }
+
+
+        public Builder cacheSizeKb(int cacheSizeKb) {
+            requirePositive(cacheSizeKb, "The cache size");
+            this.cacheSizeKbOption = Optional.of(cacheSizeKb);
+            return this;
+        }
+
+
+        public Builder nioDataFile(boolean nioDataFile) {
+            this.nioDataFileOption = Optional.of(nioDataFile);
+            return this;
+        }
+
+
+        public Builder nioMaxSizeMb(int nioMaxSizeMb) {
+            requirePositive(nioMaxSizeMb, "The NIO max size");
+            this.nioMaxSizeMbOption = Optional.of(nioMaxSizeMb);
+            return this;
+        }
+
+
+        public Builder logSizeMb(int logSizeMb) {
+            if (logSizeMb < 0) {
+                throw new IllegalArgumentException("The log size must be >= 0");
+            }
+
+            this.logSizeMbOption = Optional.of(logSizeMb);
+            return this;
+        }
+
+
+        public Builder writeDelayMillis(int writeDelayMillis) {
+            if (writeDelayMillis < 0) {
+                throw new IllegalArgumentException("The write delay must be >= 0");
+            }
+
+            this.writeDelayMillisOption = Optional.of(writeDelayMillis);
+            return this;
+        }
+
+
+        public Builder transactionControl(TransactionControl transactionControl) {
+            this.transactionControlOption = Optional.of(transactionControl);
+            return this;
+        }
+
+
+        public Builder isolationLevel(IsolationLevel isolationLevel) {
+            this.isolationLevelOption = Optional.of(isolationLevel);
+            return this;
+        }
+
+
+        public Builder validateSchema(boolean schemaValidated) {
+            this.schemaValidated = schemaValidated;
+            return this;
+        }
+
+
+        public Builder connectionPool(ConnectionPoolSettings connectionPoolSettings) {
+            this.connectionPoolSettingsOption = Optional.of(connectionPoolSettings);
+            return this;
+        }
+
+
+        public Builder noConnectionPool() {
+            this.connectionPoolSettingsOption = Optional.empty();
+            return this;
+        }
+
+
+        private static void requirePositive(int value, String description) {
+            if (value < 1) {
+                throw new IllegalArgumentException(
+                        String.format("%s must be > 0", description)
+                );
+            }
+        }
+
+
+        public LocalDatabaseSettings build() {
+            return new LocalDatabaseSettings(this);
+        }
+    }
+}
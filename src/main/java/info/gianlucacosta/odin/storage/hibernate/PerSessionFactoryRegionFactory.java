@@ -0,0 +1,114 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import net.sf.ehcache.util.Timestamper;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.ehcache.EhCacheRegionFactory;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+
+import java.util.Properties;
+
+@SuppressWarnings("deprecation")
+class PerSessionFactoryRegionFactory implements RegionFactory {
+    private static final long serialVersionUID = 1L;
+
+    private EhCacheRegionFactory boundRegionFactory;
+    private String boundConfigurationUrl;
+
+
+    synchronized EhCacheRegionFactory bindNextSessionFactory(String configurationUrl) {
+        boundRegionFactory = new EhCacheRegionFactory();
+        boundConfigurationUrl = configurationUrl;
+
+        return boundRegionFactory;
+    }
+
+
+    @Override
+    public synchronized void start(SessionFactoryOptions settings, Properties properties) {
+        Properties boundProperties = new Properties();
+        boundProperties.putAll(properties);
+        boundProperties.put(EhCacheRegionFactory.NET_SF_EHCACHE_CONFIGURATION_RESOURCE_NAME, boundConfigurationUrl);
+
+        boundRegionFactory.start(settings, boundProperties);
+    }
+
+
+    @Override
+    public void stop() {
+    }
+
+
+    @Override
+    public boolean isMinimalPutsEnabledByDefault() {
+        return true;
+    }
+
+
+    @Override
+    public AccessType getDefaultAccessType() {
+        return AccessType.READ_WRITE;
+    }
+
+
+    @Override
+    public long nextTimestamp() {
+        return Timestamper.next();
+    }
+
+
+    @Override
+    public synchronized EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata) {
+        return boundRegionFactory.buildEntityRegion(regionName, properties, metadata);
+    }
+
+
+    @Override
+    public synchronized NaturalIdRegion buildNaturalIdRegion(String regionName, Properties properties, CacheDataDescription metadata) {
+        return boundRegionFactory.buildNaturalIdRegion(regionName, properties, metadata);
+    }
+
+
+    @Override
+    public synchronized CollectionRegion buildCollectionRegion(String regionName, Properties properties, CacheDataDescription metadata) {
+        return boundRegionFactory.buildCollectionRegion(regionName, properties, metadata);
+    }
+
+
+    @Override
+    public synchronized QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) {
+        return boundRegionFactory.buildQueryResultsRegion(regionName, properties);
+    }
+
+
+    @Override
+    public synchronized TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) {
+        return boundRegionFactory.buildTimestampsRegion(regionName, properties);
+    }
+}
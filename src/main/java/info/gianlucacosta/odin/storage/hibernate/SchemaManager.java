@@ -0,0 +1,227 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+class SchemaManager {
+    public static final int CURRENT_SCHEMA_VERSION = 2;
+
+    static final String VERSION_TABLE_NAME = "ODIN_SCHEMA_VERSION";
+
+    private static final Map<Integer, List<String>> MIGRATIONS;
+
+    static {
+        Map<Integer, List<String>> migrations = new TreeMap<>();
+
+        migrations.put(1, Collections.emptyList());
+
+        migrations.put(2, Arrays.asList(
+                String.format(
+                        "CREATE TABLE %s (lemmaId BIGINT NOT NULL, syllablesCount INTEGER NOT NULL, PRIMARY KEY (lemmaId))",
+                        LemmaSyllablesCount.TABLE_NAME
+                ),
+
+                String.format(
+                        "CREATE INDEX lemma_syllables_count_index ON %s (syllablesCount)",
+                        LemmaSyllablesCount.TABLE_NAME
+                )
+        ));
+
+        MIGRATIONS = Collections.unmodifiableMap(migrations);
+    }
+
+    private static final Logger logger = Logger.getLogger(SchemaManager.class.getName());
+
+
+    public enum SchemaState {
+        EMPTY,
+        UNVERSIONED,
+        MIGRATED,
+        CURRENT
+    }
+
+
+    private final String connectionString;
+
+
+    public SchemaManager(String connectionString) {
+        this.connectionString = connectionString;
+    }
+
+
+    public SchemaState prepareSchema() {
+        try (Connection connection = DriverManager.getConnection(connectionString)) {
+            if (!tableExists(connection, "LEMMA")) {
+                return SchemaState.EMPTY;
+            }
+
+            Optional<Integer> schemaVersionOption = readSchemaVersion(connection);
+
+            if (!schemaVersionOption.isPresent()) {
+                return SchemaState.UNVERSIONED;
+            }
+
+            int schemaVersion = schemaVersionOption.get();
+
+            if (schemaVersion > CURRENT_SCHEMA_VERSION) {
+                throw new IllegalStateException(
+                        String.format(
+                                "The DB schema version (%d) is newer than the supported one (%d)",
+                                schemaVersion,
+                                CURRENT_SCHEMA_VERSION
+                        )
+                );
+            }
+
+            if (schemaVersion == CURRENT_SCHEMA_VERSION) {
+                return SchemaState.CURRENT;
+            }
+
+            for (int targetVersion = schemaVersion + 1; targetVersion <= CURRENT_SCHEMA_VERSION; targetVersion++) {
+                migrate(connection, targetVersion);
+            }
+
+            return SchemaState.MIGRATED;
+        } catch (SQLException ex) {
+            throw new RuntimeException("Error while preparing the DB schema", ex);
+        }
+    }
+
+
+    private static boolean tableExists(Connection connection, String tableName) throws SQLException {
+        try (PreparedStatement statement =
+                     connection.prepareStatement(
+                             "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = ?"
+                     )) {
+            statement.setString(1, tableName);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1) > 0;
+            }
+        }
+    }
+
+
+    private static Optional<Integer> readSchemaVersion(Connection connection) throws SQLException {
+        if (!tableExists(connection, VERSION_TABLE_NAME)) {
+            return Optional.empty();
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     String.format("SELECT MAX(VERSION) FROM %s", VERSION_TABLE_NAME)
+             )) {
+            resultSet.next();
+
+            int schemaVersion = resultSet.getInt(1);
+
+            return resultSet.wasNull() ?
+                    Optional.empty()
+                    :
+                    Optional.of(schemaVersion);
+        }
+    }
+
+
+    private static void migrate(Connection connection, int targetVersion) throws SQLException {
+        List<String> migrationStatements = MIGRATIONS.get(targetVersion);
+
+        if (migrationStatements == null) {
+            throw new IllegalStateException(
+                    String.format("Missing DB migration to schema version %d", targetVersion)
+            );
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try (Statement statement = connection.createStatement()) {
+            for (String migrationStatement : migrationStatements) {
+                statement.execute(migrationStatement);
+            }
+
+            writeSchemaVersion(statement, targetVersion);
+
+            connection.commit();
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        logger.info(() ->
+                String.format("DB schema migrated to version %d", targetVersion)
+        );
+    }
+
+
+    private static void writeSchemaVersion(Statement statement, int schemaVersion) throws SQLException {
+        statement.execute(String.format("DELETE FROM %s", VERSION_TABLE_NAME));
+
+        statement.execute(
+                String.format("INSERT INTO %s (VERSION) VALUES (%d)", VERSION_TABLE_NAME, schemaVersion)
+        );
+    }
+
+
+    public void createVersionTable() {
+        try (Connection connection = DriverManager.getConnection(connectionString);
+             Statement statement = connection.createStatement()) {
+            createVersionTable(statement);
+        } catch (SQLException ex) {
+            throw new RuntimeException("Error while creating the DB schema version table", ex);
+        }
+    }
+
+
+    private static void createVersionTable(Statement statement) throws SQLException {
+        statement.execute(
+                String.format("CREATE TABLE IF NOT EXISTS %s (VERSION INTEGER NOT NULL)", VERSION_TABLE_NAME)
+        );
+    }
+
+
+    public void markSchemaAsCurrent() {
+        try (Connection connection = DriverManager.getConnection(connectionString);
+             Statement statement = connection.createStatement()) {
+            createVersionTable(statement);
+            writeSchemaVersion(statement, CURRENT_SCHEMA_VERSION);
+        } catch (SQLException ex) {
+            throw new RuntimeException("Error while writing the DB schema version", ex);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public class SecondLevelCacheSettings {
+    public static final int DEFAULT_MAX_ENTRIES_PER_REGION = 10_000;
+
+    private final int maxEntriesPerRegion;
+    private final CacheEvictionPolicy evictionPolicy;
+    private final Optional<Duration> timeToLiveOption;
+
+
+    public SecondLevelCacheSettings() {
+        this(DEFAULT_MAX_ENTRIES_PER_REGION, CacheEvictionPolicy.LRU, Optional.empty());
+    }
+
+
+    public SecondLevelCacheSettings(int maxEntriesPerRegion, CacheEvictionPolicy evictionPolicy, Optional<Duration> timeToLiveOption) {
+        if (maxEntriesPerRegion < 1) {
+            throw new IllegalArgumentException("The max entries per region must be > 0");
+        }
+
+        timeToLiveOption.ifPresent(timeToLive -> {
+            if (timeToLive.getSeconds() < 1) {
+                throw new IllegalArgumentException("The time to live must be at least 1 second");
+            }
+        });
+
+        this.maxEntriesPerRegion = maxEntriesPerRegion;
+        this.evictionPolicy = evictionPolicy;
+        this.timeToLiveOption = timeToLiveOption;
+    }
+
+
+    public int getMaxEntriesPerRegion() {
+        return maxEntriesPerRegion;
+    }
+
+
+    public CacheEvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+
+    public Optional<Duration> getTimeToLiveOption() {
+        return timeToLiveOption;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        SecondLevelCacheSettings that = (SecondLevelCacheSettings) o;
+
+        if (maxEntriesPerRegion != that.maxEntriesPerRegion) return false;
+        if (evictionPolicy != that.evictionPolicy) return false;
+        return timeToLiveOption.equals(that.timeToLiveOption);
+    }
+
+
+    @Override
+    public int hashCode() {
+        int result = maxEntriesPerRegion;
+        result = 31 * result + evictionPolicy.hashCode();
+        result = 31 * result + timeToLiveOption.hashCode();
+        return result;
+    }
+
+
+    @Override
+    public String toString() {
+        return "SecondLevelCacheSettings{" +
+                "maxEntriesPerRegion=" + maxEntriesPerRegion +
+                ", evictionPolicy=" + evictionPolicy +
+                ", timeToLiveOption=" + timeToLiveOption +
+                '}';
+    }
+}
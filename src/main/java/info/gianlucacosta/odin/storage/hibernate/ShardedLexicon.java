@@ -0,0 +1,454 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import info.gianlucacosta.balmung.lexicon.Adjective;
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.balmung.lexicon.Noun;
+import info.gianlucacosta.balmung.lexicon.Verb;
+import info.gianlucacosta.odin.storage.AsyncLemmaSaver;
+import info.gianlucacosta.odin.storage.LemmaCriteria;
+import info.gianlucacosta.odin.storage.Lexicon;
+import info.gianlucacosta.odin.storage.LexiconStatistics;
+import info.gianlucacosta.odin.storage.NounGender;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class ShardedLexicon implements Lexicon, AsyncLemmaSaver, AutoCloseable {
+    private final List<HibernateLexicon> shards;
+    private final ShardingStrategy shardingStrategy;
+    private final List<ExecutorService> shardWriters;
+    private final LexiconStatistics statistics;
+
+
+    public ShardedLexicon(List<HibernateLexicon> shards, ShardingStrategy shardingStrategy) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+
+        this.shards = Collections.unmodifiableList(new ArrayList<>(shards));
+        this.shardingStrategy = shardingStrategy;
+
+        this.shardWriters =
+                Collections.unmodifiableList(
+                        this.shards
+                                .stream()
+                                .map(shard -> Executors.newSingleThreadExecutor(runnable -> {
+                                    Thread writerThread = new Thread(runnable);
+                                    writerThread.setDaemon(true);
+                                    return writerThread;
+                                }))
+                                .collect(Collectors.toList())
+                );
+
+        this.statistics =
+                new ShardedLexiconStatistics(
+                        this.shards
+                                .stream()
+                                .map(HibernateLexicon::getStatistics)
+                                .collect(Collectors.toList())
+                );
+    }
+
+
+    public List<HibernateLexicon> getShards() {
+        return shards;
+    }
+
+
+    public ShardingStrategy getShardingStrategy() {
+        return shardingStrategy;
+    }
+
+
+    public LexiconStatistics getStatistics() {
+        return statistics;
+    }
+
+
+    public int getShardIndex(String expression) {
+        return shardingStrategy.getShardIndex(expression, shards.size());
+    }
+
+
+    private HibernateLexicon getShard(String expression) {
+        return shards.get(getShardIndex(expression));
+    }
+
+
+    @Override
+    public CompletionStage<Boolean> saveAsync(Lemma lemma) {
+        int shardIndex = getShardIndex(lemma.getExpression());
+
+        return CompletableFuture.supplyAsync(
+                () -> shards.get(shardIndex).save(lemma),
+                shardWriters.get(shardIndex)
+        );
+    }
+
+
+    @Override
+    public boolean save(Lemma lemma) {
+        return saveAsync(lemma)
+                .toCompletableFuture()
+                .join();
+    }
+
+
+    @Override
+    public int saveAll(Collection<? extends Lemma> lemmas) {
+        List<List<Lemma>> shardBatches = partitionByShard(lemmas, Lemma::getExpression);
+
+        List<CompletableFuture<Integer>> shardSavings =
+                IntStream
+                        .range(0, shards.size())
+                        .filter(shardIndex -> !shardBatches.get(shardIndex).isEmpty())
+                        .mapToObj(shardIndex ->
+                                CompletableFuture.supplyAsync(
+                                        () -> shards.get(shardIndex).saveAll(shardBatches.get(shardIndex)),
+                                        shardWriters.get(shardIndex)
+                                )
+                        )
+                        .collect(Collectors.toList());
+
+        return shardSavings
+                .stream()
+                .mapToInt(CompletableFuture::join)
+                .sum();
+    }
+
+
+    private <T> List<List<T>> partitionByShard(Collection<? extends T> items, Function<? super T, String> expressionMapper) {
+        List<List<T>> shardItems = new ArrayList<>(shards.size());
+
+        shards.forEach(shard -> shardItems.add(new ArrayList<>()));
+
+        items.forEach(item ->
+                shardItems
+                        .get(getShardIndex(expressionMapper.apply(item)))
+                        .add(item)
+        );
+
+        return shardItems;
+    }
+
+
+    @Override
+    public Stream<Lemma> findLemmas() {
+        return shards
+                .stream()
+                .flatMap(HibernateLexicon::findLemmas);
+    }
+
+
+    public Stream<Lemma> findLemmasInParallel() {
+        return concatShardStreams(HibernateLexicon::findLemmasInParallel);
+    }
+
+
+    private <T> Stream<T> concatShardStreams(Function<HibernateLexicon, Stream<T>> shardStreamFactory) {
+        return shards
+                .stream()
+                .map(shardStreamFactory)
+                .reduce(Stream::concat)
+                .get();
+    }
+
+
+    @Override
+    public Stream<Noun> findNouns() {
+        return shards
+                .stream()
+                .flatMap(HibernateLexicon::findNouns);
+    }
+
+
+    public Stream<Noun> findNounsInParallel() {
+        return concatShardStreams(HibernateLexicon::findNounsInParallel);
+    }
+
+
+    @Override
+    public Stream<Verb> findVerbs() {
+        return shards
+                .stream()
+                .flatMap(HibernateLexicon::findVerbs);
+    }
+
+
+    public Stream<Verb> findVerbsInParallel() {
+        return concatShardStreams(HibernateLexicon::findVerbsInParallel);
+    }
+
+
+    @Override
+    public Stream<Adjective> findAdjectives() {
+        return shards
+                .stream()
+                .flatMap(HibernateLexicon::findAdjectives);
+    }
+
+
+    public Stream<Adjective> findAdjectivesInParallel() {
+        return concatShardStreams(HibernateLexicon::findAdjectivesInParallel);
+    }
+
+
+    @Override
+    public <T extends Lemma> Stream<T> findLemmas(Class<T> lemmaClass, LemmaCriteria criteria) {
+        return shards
+                .stream()
+                .flatMap(shard -> shard.findLemmas(lemmaClass, criteria));
+    }
+
+
+    public <T extends Lemma> Stream<T> findLemmasInParallel(Class<T> lemmaClass, LemmaCriteria criteria) {
+        return concatShardStreams(shard -> shard.findLemmas(lemmaClass, criteria))
+                .parallel();
+    }
+
+
+    @Override
+    public <T extends Lemma> List<T> sample(Class<T> lemmaClass, int count, LemmaCriteria criteria) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The sample size must be >= 0");
+        }
+
+        long[] shardWeights =
+                shards
+                        .stream()
+                        .mapToLong(shard ->
+                                shard
+                                        .getStatistics()
+                                        .countLemmasByWordClass()
+                                        .entrySet()
+                                        .stream()
+                                        .filter(entry -> lemmaClass.isAssignableFrom(entry.getKey()))
+                                        .mapToLong(Map.Entry::getValue)
+                                        .sum()
+                        )
+                        .toArray();
+
+        int[] shardSampleSizes = splitSampleSize(count, shardWeights);
+
+        List<List<T>> shardSamples = sampleShards(lemmaClass, shardSampleSizes, criteria);
+
+        //The statistics ignore the criteria, so a shard might match fewer lemmas than expected
+        while (true) {
+            int missingCount = 0;
+
+            for (int shardIndex = 0; shardIndex < shards.size(); shardIndex++) {
+                int shardSampleSize = shardSamples.get(shardIndex).size();
+
+                if (shardSampleSize < shardSampleSizes[shardIndex]) {
+                    missingCount += shardSampleSizes[shardIndex] - shardSampleSize;
+                    shardSampleSizes[shardIndex] = shardSampleSize;
+                    shardWeights[shardIndex] = 0;
+                }
+            }
+
+            if (missingCount == 0) {
+                break;
+            }
+
+            int[] extraSampleSizes = splitSampleSize(missingCount, shardWeights);
+
+            if (Arrays.stream(extraSampleSizes).allMatch(extraSampleSize -> extraSampleSize == 0)) {
+                break;
+            }
+
+            int[] resampledShardSizes = new int[shards.size()];
+
+            for (int shardIndex = 0; shardIndex < shards.size(); shardIndex++) {
+                if (extraSampleSizes[shardIndex] > 0) {
+                    shardSampleSizes[shardIndex] += extraSampleSizes[shardIndex];
+                    resampledShardSizes[shardIndex] = shardSampleSizes[shardIndex];
+                }
+            }
+
+            List<List<T>> resampledShards = sampleShards(lemmaClass, resampledShardSizes, criteria);
+
+            for (int shardIndex = 0; shardIndex < shards.size(); shardIndex++) {
+                if (resampledShardSizes[shardIndex] > 0) {
+                    shardSamples.set(shardIndex, resampledShards.get(shardIndex));
+                }
+            }
+        }
+
+        List<T> result =
+                shardSamples
+                        .stream()
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList());
+
+        Collections.shuffle(result, ThreadLocalRandom.current());
+
+        return result;
+    }
+
+
+    private <T extends Lemma> List<List<T>> sampleShards(Class<T> lemmaClass, int[] shardSampleSizes, LemmaCriteria criteria) {
+        return IntStream
+                .range(0, shards.size())
+                .parallel()
+                .mapToObj(shardIndex ->
+                        shardSampleSizes[shardIndex] > 0 ?
+                                shards.get(shardIndex).sample(lemmaClass, shardSampleSizes[shardIndex], criteria)
+                                :
+                                Collections.<T>emptyList()
+                )
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+
+    private static int[] splitSampleSize(int count, long[] shardWeights) {
+        int[] shardSampleSizes = new int[shardWeights.length];
+
+        long totalWeight = Arrays.stream(shardWeights).sum();
+
+        if (totalWeight == 0) {
+            return shardSampleSizes;
+        }
+
+        if (count >= totalWeight) {
+            for (int shardIndex = 0; shardIndex < shardWeights.length; shardIndex++) {
+                shardSampleSizes[shardIndex] = (int) shardWeights[shardIndex];
+            }
+
+            return shardSampleSizes;
+        }
+
+        int assignedCount = 0;
+
+        for (int shardIndex = 0; shardIndex < shardWeights.length; shardIndex++) {
+            shardSampleSizes[shardIndex] = (int) (count * shardWeights[shardIndex] / totalWeight);
+            assignedCount += shardSampleSizes[shardIndex];
+        }
+
+        //The rounding leftovers go to random shards, weighted by their remaining lemmas
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (; assignedCount < count; assignedCount++) {
+            long remainingWeight = 0;
+
+            for (int shardIndex = 0; shardIndex < shardWeights.length; shardIndex++) {
+                remainingWeight += shardWeights[shardIndex] - shardSampleSizes[shardIndex];
+            }
+
+            long target = random.nextLong(remainingWeight);
+
+            for (int shardIndex = 0; shardIndex < shardWeights.length; shardIndex++) {
+                target -= shardWeights[shardIndex] - shardSampleSizes[shardIndex];
+
+                if (target < 0) {
+                    shardSampleSizes[shardIndex]++;
+                    break;
+                }
+            }
+        }
+
+        return shardSampleSizes;
+    }
+
+
+    @Override
+    public Stream<String> streamExpressions() {
+        return shards
+                .stream()
+                .flatMap(HibernateLexicon::streamExpressions);
+    }
+
+
+    public Stream<String> streamExpressionsInParallel() {
+        return concatShardStreams(HibernateLexicon::streamExpressions)
+                .parallel();
+    }
+
+
+    @Override
+    public Stream<NounGender> streamNounGenders() {
+        return shards
+                .stream()
+                .flatMap(HibernateLexicon::streamNounGenders);
+    }
+
+
+    public Stream<NounGender> streamNounGendersInParallel() {
+        return concatShardStreams(HibernateLexicon::streamNounGenders)
+                .parallel();
+    }
+
+
+    @Override
+    public List<Lemma> findByExpression(String expression) {
+        return getShard(expression).findByExpression(expression);
+    }
+
+
+    @Override
+    public List<Lemma> findByExpressions(Collection<String> expressions) {
+        List<List<String>> shardExpressions = partitionByShard(expressions, Function.identity());
+
+        return IntStream
+                .range(0, shards.size())
+                .parallel()
+                .filter(shardIndex -> !shardExpressions.get(shardIndex).isEmpty())
+                .mapToObj(shardIndex ->
+                        shards
+                                .get(shardIndex)
+                                .findByExpressions(shardExpressions.get(shardIndex))
+                )
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+
+    @Override
+    public void close() {
+        //The shard session factories belong to the caller, who must close them
+        shardWriters.forEach(ExecutorService::shutdown);
+
+        try {
+            for (ExecutorService shardWriter : shardWriters) {
+                shardWriter.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the shard writers", ex);
+        }
+    }
+}
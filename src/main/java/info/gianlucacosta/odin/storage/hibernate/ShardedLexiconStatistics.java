@@ -0,0 +1,77 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import info.gianlucacosta.balmung.lexicon.Genus;
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.odin.storage.LexiconStatistics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+class ShardedLexiconStatistics implements LexiconStatistics {
+    private final List<LexiconStatistics> shardStatistics;
+
+
+    ShardedLexiconStatistics(List<LexiconStatistics> shardStatistics) {
+        this.shardStatistics = shardStatistics;
+    }
+
+
+    @Override
+    public Map<String, Long> countLemmasByCategory() {
+        return mergeCounts(LexiconStatistics::countLemmasByCategory);
+    }
+
+
+    @Override
+    public Map<Optional<Genus>, Long> countNounsByGenus() {
+        return mergeCounts(LexiconStatistics::countNounsByGenus);
+    }
+
+
+    @Override
+    public Map<Class<? extends Lemma>, Long> countLemmasByWordClass() {
+        return mergeCounts(LexiconStatistics::countLemmasByWordClass);
+    }
+
+
+    private <K> Map<K, Long> mergeCounts(Function<LexiconStatistics, Map<K, Long>> counter) {
+        return Collections.unmodifiableMap(
+                shardStatistics
+                        .parallelStream()
+                        .map(counter)
+                        .flatMap(shardCounts -> shardCounts.entrySet().stream())
+                        .collect(
+                                Collectors.toMap(
+                                        Map.Entry::getKey,
+                                        Map.Entry::getValue,
+                                        Long::sum
+                                )
+                        )
+        );
+    }
+}
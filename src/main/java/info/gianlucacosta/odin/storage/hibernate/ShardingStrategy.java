@@ -0,0 +1,64 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import java.text.Normalizer;
+
+public enum ShardingStrategy {
+    EXPRESSION_HASH {
+        @Override
+        public int getShardIndex(String expression, int shardsCount) {
+            int hash = expression.hashCode();
+
+            return Math.floorMod(hash ^ (hash >>> 16), shardsCount);
+        }
+    },
+
+    INITIAL_LETTER {
+        private static final int LETTERS_COUNT = 'z' - 'a' + 1;
+
+
+        @Override
+        public int getShardIndex(String expression, int shardsCount) {
+            if (expression.isEmpty()) {
+                return 0;
+            }
+
+            String initial =
+                    Normalizer.normalize(
+                            expression.substring(0, Character.charCount(expression.codePointAt(0))),
+                            Normalizer.Form.NFD
+                    );
+
+            char baseLetter = Character.toLowerCase(initial.charAt(0));
+
+            if (baseLetter < 'a' || baseLetter > 'z') {
+                return EXPRESSION_HASH.getShardIndex(expression, shardsCount);
+            }
+
+            return (baseLetter - 'a') * shardsCount / LETTERS_COUNT;
+        }
+    };
+
+
+    public abstract int getShardIndex(String expression, int shardsCount);
+}
@@ -0,0 +1,274 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import info.gianlucacosta.balmung.lexicon.Adjective;
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.balmung.lexicon.Noun;
+import info.gianlucacosta.balmung.lexicon.Verb;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.SessionFactoryBuilder;
+import org.hibernate.boot.registry.BootstrapServiceRegistry;
+import org.hibernate.boot.registry.BootstrapServiceRegistryBuilder;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.c3p0.internal.C3P0ConnectionProvider;
+import org.hibernate.cache.ehcache.EhCacheRegionFactory;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.HSQLDialect;
+import org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.loader.BatchFetchStyle;
+import org.hibernate.mapping.RootClass;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.internal.SessionFactoryServiceRegistryBuilderImpl;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.service.spi.SessionFactoryServiceRegistryFactory;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+class SharedBootstrap {
+    private static final String METADATA_CONNECTION_STRING = "jdbc:hsqldb:mem:odin-metadata;shutdown=true";
+
+    private static final BootstrapServiceRegistry bootstrapRegistry =
+            new BootstrapServiceRegistryBuilder()
+                    .disableAutoClose()
+                    .build();
+
+    private static final Map<Boolean, SharedBootstrap> instances = new HashMap<>();
+
+
+    static synchronized SharedBootstrap get(boolean cachingEnabled) {
+        return instances.computeIfAbsent(cachingEnabled, SharedBootstrap::new);
+    }
+
+
+    private final PerSessionFactoryRegionFactory regionFactory = new PerSessionFactoryRegionFactory();
+    private final StandardServiceRegistry registry;
+    private final Metadata metadata;
+    private ConnectionProvider nextConnectionProvider;
+
+
+    private SharedBootstrap(boolean cachingEnabled) {
+        Map<String, Object> registrySettings = new HashMap<>();
+
+        registrySettings.put(AvailableSettings.DIALECT, HSQLDialect.class.getName());
+        registrySettings.put(AvailableSettings.CONNECTION_PROVIDER, new MetadataConnectionProvider());
+        registrySettings.put(AvailableSettings.HBM2DDL_HALT_ON_ERROR, true);
+        registrySettings.put(AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, LocalDatabase.DEFAULT_BATCH_FETCH_SIZE);
+        registrySettings.put(AvailableSettings.BATCH_FETCH_STYLE, BatchFetchStyle.DYNAMIC);
+        registrySettings.put(AvailableSettings.STATEMENT_BATCH_SIZE, LocalDatabase.JDBC_BATCH_SIZE);
+        registrySettings.put(AvailableSettings.ORDER_INSERTS, true);
+
+        if (cachingEnabled) {
+            registrySettings.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            registrySettings.put(AvailableSettings.USE_QUERY_CACHE, true);
+            registrySettings.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+        }
+
+        registry =
+                new StandardServiceRegistryBuilder(bootstrapRegistry)
+                        .disableAutoClose()
+                        .applySettings(registrySettings)
+                        .addService(SessionFactoryServiceRegistryFactory.class, new ConnectionBindingServiceRegistryFactory())
+                        .build();
+
+        metadata =
+                new MetadataSources(bootstrapRegistry)
+                        .addAnnotatedClass(Lemma.class)
+                        .addAnnotatedClass(Noun.class)
+                        .addAnnotatedClass(Verb.class)
+                        .addAnnotatedClass(Adjective.class)
+                        .addResource(LocalDatabase.class.getResource("Queries.hbm.xml").toExternalForm())
+                        .addResource(LocalDatabase.class.getResource("Mappings.orm.xml").toExternalForm())
+                        .getMetadataBuilder(registry)
+                        .build();
+
+        if (cachingEnabled) {
+            enableSecondLevelCaching(metadata);
+        }
+    }
+
+
+    private static void enableSecondLevelCaching(Metadata metadata) {
+        String concurrencyStrategy =
+                AccessType.READ_WRITE.getExternalName();
+
+        metadata.getEntityBindings().forEach(entityBinding -> {
+            if (entityBinding instanceof RootClass) {
+                ((RootClass) entityBinding).setCacheConcurrencyStrategy(concurrencyStrategy);
+            }
+        });
+
+        metadata.getCollectionBindings().forEach(collectionBinding ->
+                collectionBinding.setCacheConcurrencyStrategy(concurrencyStrategy)
+        );
+    }
+
+
+    void applySchemaAction(String connectionString, String schemaAction) {
+        try (Connection connection = DriverManager.getConnection(connectionString)) {
+            Map<String, Object> toolSettings = new HashMap<>();
+
+            toolSettings.put(AvailableSettings.HBM2DDL_AUTO, schemaAction);
+            toolSettings.put(AvailableSettings.HBM2DDL_CONNECTION, connection);
+
+            SchemaManagementToolCoordinator.process(
+                    metadata,
+                    registry,
+                    toolSettings,
+                    delayedDropAction -> {
+                    }
+            );
+        } catch (SQLException ex) {
+            throw new RuntimeException("Error while applying the schema action", ex);
+        }
+    }
+
+
+    synchronized SessionFactory buildSessionFactory(Map<String, Object> connectionSettings, Optional<String> cacheConfigurationUrlOption) {
+        SessionFactoryBuilder sessionFactoryBuilder = metadata.getSessionFactoryBuilder();
+
+        cacheConfigurationUrlOption.ifPresent(cacheConfigurationUrl ->
+                sessionFactoryBuilder.addSessionFactoryObservers(
+                        new RegionFactoryStopper(
+                                regionFactory.bindNextSessionFactory(cacheConfigurationUrl)
+                        )
+                )
+        );
+
+        nextConnectionProvider = createConnectionProvider(connectionSettings);
+
+        try {
+            return sessionFactoryBuilder.build();
+        } finally {
+            nextConnectionProvider = null;
+        }
+    }
+
+
+    private ConnectionProvider createConnectionProvider(Map<String, Object> connectionSettings) {
+        ServiceRegistryImplementor registryImplementor = (ServiceRegistryImplementor) registry;
+
+        if (C3P0ConnectionProvider.class.getName().equals(connectionSettings.get(AvailableSettings.CONNECTION_PROVIDER))) {
+            C3P0ConnectionProvider connectionProvider = new C3P0ConnectionProvider();
+            connectionProvider.injectServices(registryImplementor);
+            connectionProvider.configure(connectionSettings);
+
+            return connectionProvider;
+        }
+
+        DriverManagerConnectionProviderImpl connectionProvider = new DriverManagerConnectionProviderImpl();
+        connectionProvider.injectServices(registryImplementor);
+        connectionProvider.configure(connectionSettings);
+
+        return connectionProvider;
+    }
+
+
+    private class ConnectionBindingServiceRegistryFactory implements SessionFactoryServiceRegistryFactory {
+        private static final long serialVersionUID = 1L;
+
+
+        @Override
+        public SessionFactoryServiceRegistry buildServiceRegistry(SessionFactoryImplementor sessionFactory, SessionFactoryOptions options) {
+            SessionFactoryServiceRegistryBuilderImpl serviceRegistryBuilder =
+                    new SessionFactoryServiceRegistryBuilderImpl((ServiceRegistryImplementor) options.getServiceRegistry());
+
+            serviceRegistryBuilder.addService(ConnectionProvider.class, nextConnectionProvider);
+
+            return serviceRegistryBuilder.buildSessionFactoryServiceRegistry(sessionFactory, options);
+        }
+    }
+
+
+    private static class RegionFactoryStopper implements SessionFactoryObserver {
+        private static final long serialVersionUID = 1L;
+
+        private final EhCacheRegionFactory regionFactory;
+
+
+        RegionFactoryStopper(EhCacheRegionFactory regionFactory) {
+            this.regionFactory = regionFactory;
+        }
+
+
+        @Override
+        public void sessionFactoryCreated(SessionFactory factory) {
+        }
+
+
+        @Override
+        public void sessionFactoryClosed(SessionFactory factory) {
+            regionFactory.stop();
+        }
+    }
+
+
+    private static class MetadataConnectionProvider implements ConnectionProvider {
+        private static final long serialVersionUID = 1L;
+
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return DriverManager.getConnection(METADATA_CONNECTION_STRING);
+        }
+
+
+        @Override
+        public void closeConnection(Connection connection) throws SQLException {
+            connection.close();
+        }
+
+
+        @Override
+        public boolean supportsAggressiveRelease() {
+            return false;
+        }
+
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public boolean isUnwrappableAs(Class unwrapType) {
+            return false;
+        }
+
+
+        @Override
+        public <T> T unwrap(Class<T> unwrapType) {
+            throw new UnknownUnwrapTypeException(unwrapType);
+        }
+    }
+}
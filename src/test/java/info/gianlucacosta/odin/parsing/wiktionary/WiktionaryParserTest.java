@@ -21,6 +21,9 @@
 package info.gianlucacosta.odin.parsing.wiktionary;
 
 import info.gianlucacosta.balmung.lexicon.*;
+import info.gianlucacosta.odin.parsing.SinkResult;
+import info.gianlucacosta.odin.storage.AsyncLemmaSaver;
+import info.gianlucacosta.odin.storage.LemmaSaver;
 import info.gianlucacosta.odin.storage.Lexicon;
 import info.gianlucacosta.odin.storage.hibernate.HibernateLexicon;
 import info.gianlucacosta.odin.storage.hibernate.LocalDatabaseTestBase;
@@ -32,6 +35,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -271,6 +277,43 @@ public class WiktionaryParserTest extends LocalDatabaseTestBase {
     }
 
 
+    @Test
+    public void testDuplicatedNie() {
+        WiktionaryParserResult expectedParserResult =
+                new WiktionaryParserResult(
+                        0,
+                        1,
+                        0,
+                        1
+                );
+
+        Set<Lemma> expectedLemmas =
+                Arrays.stream(new Lemma[]{
+                        new Lemma(
+                                "nie",
+                                Collections.singleton("adverb"),
+                                Collections.singletonList("nie"),
+                                Optional.of("niː"),
+                                Arrays.stream(
+                                        new String[]{
+                                                "niemals", "nimmer", "nie und nimmer"
+                                        }).collect(Collectors.toSet()),
+
+                                Collections.singleton("immer"),
+
+                                Collections.emptySet()
+                        )
+                })
+                        .collect(Collectors.toSet());
+
+        testPageParsing(
+                "duplicatedNie.xml",
+                expectedParserResult,
+                expectedLemmas
+        );
+    }
+
+
     @Test
     public void testEinige() {
         WiktionaryParserResult expectedParserResult =
@@ -693,6 +736,126 @@ public class WiktionaryParserTest extends LocalDatabaseTestBase {
     }
 
 
+    @Test
+    public void asyncSavingShouldWork() {
+        try (InputStream pageInputStream =
+                     getFakeWiktionaryPageStream("auf.xml")) {
+
+            WiktionaryParser parser =
+                    new WiktionaryParser(
+                            pageInputStream,
+                            AsyncLemmaSaver.of(lexicon, ForkJoinPool.commonPool()),
+                            1
+                    );
+
+            assertThat(
+                    parser.parse(),
+                    equalTo(new WiktionaryParserResult(0, 0, 2))
+            );
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+
+    @Test
+    public void failedAsyncSavingShouldCountAsUnsaved() {
+        try (InputStream pageInputStream =
+                     getFakeWiktionaryPageStream("auf.xml")) {
+
+            WiktionaryParser parser =
+                    new WiktionaryParser(
+                            pageInputStream,
+                            lemma -> {
+                                CompletableFuture<Boolean> result = new CompletableFuture<>();
+                                result.completeExceptionally(new IllegalStateException());
+                                return result;
+                            },
+                            WiktionaryParser.DEFAULT_MAX_PENDING_SAVES
+                    );
+
+            assertThat(
+                    parser.parse(),
+                    equalTo(new WiktionaryParserResult(0, 2, 0))
+            );
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+
+    @Test
+    public void missingSavingStageShouldCountAsUnsaved() {
+        try (InputStream pageInputStream =
+                     getFakeWiktionaryPageStream("auf.xml")) {
+
+            WiktionaryParser parser =
+                    new WiktionaryParser(
+                            pageInputStream,
+                            lemma -> null,
+                            1
+                    );
+
+            assertThat(
+                    parser.parse(),
+                    equalTo(new WiktionaryParserResult(0, 2, 0))
+            );
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+
+    @Test
+    public void teeSavingShouldReportResultsPerSink() {
+        Set<Lemma> collectedLemmas = ConcurrentHashMap.newKeySet();
+
+        try (InputStream pageInputStream =
+                     getFakeWiktionaryPageStream("auf.xml")) {
+
+            WiktionaryParser parser =
+                    new WiktionaryParser(
+                            pageInputStream,
+                            Arrays.<LemmaSaver>asList(
+                                    lexicon,
+                                    collectedLemmas::add,
+                                    lemma -> false
+                            ),
+                            true
+                    );
+
+            WiktionaryParserResult parserResult =
+                    parser.parse();
+
+            assertThat(
+                    parserResult,
+                    equalTo(new WiktionaryParserResult(0, 2, 0))
+            );
+
+            assertThat(
+                    parserResult.getSinkResults(),
+                    equalTo(
+                            Arrays.asList(
+                                    new SinkResult(0, 2),
+                                    new SinkResult(0, 2),
+                                    new SinkResult(2, 0)
+                            )
+                    )
+            );
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+
+        try (Stream<Lemma> savedLemmasStream =
+                     lexicon.findLemmas()) {
+            assertThat(
+                    savedLemmasStream.collect(Collectors.toSet()),
+                    equalTo(collectedLemmas)
+            );
+        }
+    }
+
+
     private InputStream getFakeWiktionaryPageStream(String pageFilename) {
         return getClass().getResourceAsStream(
                 String.format("fakeWiktionary/%s", pageFilename)
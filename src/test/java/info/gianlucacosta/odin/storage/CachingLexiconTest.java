@@ -0,0 +1,242 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage;
+
+import info.gianlucacosta.balmung.lexicon.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CachingLexiconTest {
+    private CountingLexicon countingLexicon;
+
+    private final Lemma alphaLemma =
+            new Lemma(
+                    "Alpha",
+                    Collections.singleton("Generic")
+            );
+
+    private final Lemma betaLemma =
+            new Lemma(
+                    "Beta",
+                    Collections.singleton("Generic")
+            );
+
+    private final Lemma gammaLemma =
+            new Lemma(
+                    "Gamma",
+                    Collections.singleton("Generic")
+            );
+
+
+    @Before
+    public void init() {
+        countingLexicon = new CountingLexicon();
+
+        countingLexicon.save(alphaLemma);
+        countingLexicon.save(betaLemma);
+        countingLexicon.save(gammaLemma);
+    }
+
+
+    @Test
+    public void repeatedLookupsShouldBeServedByTheCache() {
+        CachingLexicon cachingLexicon = new CachingLexicon(countingLexicon);
+
+        assertThat(
+                cachingLexicon.findByExpression("Alpha"),
+                is(Collections.singletonList(alphaLemma))
+        );
+
+        assertThat(
+                cachingLexicon.findByExpression("Alpha"),
+                is(Collections.singletonList(alphaLemma))
+        );
+
+        assertThat(countingLexicon.lookupsCount, is(1));
+        assertThat(cachingLexicon.getHitsCount(), is(1L));
+        assertThat(cachingLexicon.getMissesCount(), is(1L));
+    }
+
+
+    @Test
+    public void missingExpressionsShouldBeCachedToo() {
+        CachingLexicon cachingLexicon = new CachingLexicon(countingLexicon);
+
+        assertThat(
+                cachingLexicon.findByExpression("Omega"),
+                is(Collections.emptyList())
+        );
+
+        assertThat(
+                cachingLexicon.findByExpression("Omega"),
+                is(Collections.emptyList())
+        );
+
+        assertThat(countingLexicon.lookupsCount, is(1));
+    }
+
+
+    @Test
+    public void theLeastRecentlyUsedExpressionShouldBeEvicted() {
+        CachingLexicon cachingLexicon = new CachingLexicon(countingLexicon, 2);
+
+        cachingLexicon.findByExpression("Alpha");
+        cachingLexicon.findByExpression("Beta");
+        cachingLexicon.findByExpression("Alpha");
+        cachingLexicon.findByExpression("Gamma");
+
+        assertThat(cachingLexicon.getCachedExpressionsCount(), is(2));
+        assertThat(cachingLexicon.getEvictionsCount(), is(1L));
+
+        cachingLexicon.findByExpression("Alpha");
+        assertThat(countingLexicon.lookupsCount, is(3));
+
+        cachingLexicon.findByExpression("Beta");
+        assertThat(countingLexicon.lookupsCount, is(4));
+    }
+
+
+    @Test
+    public void theCacheShouldBeBoundedByWeight() {
+        CachingLexicon cachingLexicon =
+                new CachingLexicon(
+                        countingLexicon,
+                        2,
+                        lemmas -> 1 + lemmas.size()
+                );
+
+        cachingLexicon.findByExpression("Alpha");
+        cachingLexicon.findByExpression("Omega");
+
+        assertThat(cachingLexicon.getCurrentWeight(), is(1L));
+        assertThat(cachingLexicon.getCachedExpressionsCount(), is(1));
+        assertThat(cachingLexicon.getEvictionsCount(), is(1L));
+    }
+
+
+    @Test
+    public void savingShouldInvalidateTheCachedExpression() {
+        CachingLexicon cachingLexicon = new CachingLexicon(countingLexicon);
+
+        cachingLexicon.findByExpression("Alpha");
+
+        Lemma otherAlphaLemma =
+                new Lemma(
+                        "Alpha",
+                        Collections.singleton("Other")
+                );
+
+        cachingLexicon.save(otherAlphaLemma);
+
+        assertThat(
+                new HashSet<>(cachingLexicon.findByExpression("Alpha")),
+                is(new HashSet<>(Arrays.asList(alphaLemma, otherAlphaLemma)))
+        );
+
+        assertThat(countingLexicon.lookupsCount, is(2));
+    }
+
+
+    @Test
+    public void findingByExpressionsShouldOnlyLoadTheMissingOnes() {
+        CachingLexicon cachingLexicon = new CachingLexicon(countingLexicon);
+
+        cachingLexicon.findByExpression("Alpha");
+
+        assertThat(
+                new HashSet<>(cachingLexicon.findByExpressions(Arrays.asList("Alpha", "Beta", "Omega"))),
+                is(new HashSet<>(Arrays.asList(alphaLemma, betaLemma)))
+        );
+
+        assertThat(
+                countingLexicon.requestedExpressions,
+                is(Arrays.asList("Alpha", "Beta", "Omega"))
+        );
+
+        cachingLexicon.findByExpressions(Arrays.asList("Beta", "Omega"));
+
+        assertThat(countingLexicon.lookupsCount, is(2));
+        assertThat(cachingLexicon.getHitsCount(), is(3L));
+    }
+
+
+    private static class CountingLexicon implements Lexicon {
+        private final List<Lemma> lemmas = new ArrayList<>();
+
+        private final List<String> requestedExpressions = new ArrayList<>();
+        private int lookupsCount;
+
+
+        @Override
+        public boolean save(Lemma lemma) {
+            return lemmas.add(lemma);
+        }
+
+
+        @Override
+        public List<Lemma> findByExpression(String expression) {
+            lookupsCount++;
+            requestedExpressions.add(expression);
+
+            return Lexicon.super.findByExpression(expression);
+        }
+
+
+        @Override
+        public List<Lemma> findByExpressions(Collection<String> expressions) {
+            lookupsCount++;
+            requestedExpressions.addAll(expressions);
+
+            return Lexicon.super.findByExpressions(expressions);
+        }
+
+
+        @Override
+        public Stream<Lemma> findLemmas() {
+            return lemmas.stream();
+        }
+
+
+        @Override
+        public Stream<Noun> findNouns() {
+            return Stream.empty();
+        }
+
+
+        @Override
+        public Stream<Verb> findVerbs() {
+            return Stream.empty();
+        }
+
+
+        @Override
+        public Stream<Adjective> findAdjectives() {
+            return Stream.empty();
+        }
+    }
+}
@@ -0,0 +1,349 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.binary;
+
+import info.gianlucacosta.balmung.lexicon.*;
+import info.gianlucacosta.odin.storage.NounGender;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BinaryLexiconTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final NounDeclension bookDeclension = NounDeclension.createOption(
+            "Buch",
+            "Buch",
+            "Buch",
+            "Buchs",
+
+            "Bücher",
+            "Bücher",
+            "Büchern",
+            "Bücher"
+    ).get();
+
+    private final Noun bookNoun =
+            new Noun(
+                    "Buch",
+                    Collections.singleton("Substantiv"),
+                    Collections.singletonList("Buch"),
+                    Optional.of("buːx"),
+                    Collections.singleton("Band"),
+                    Collections.emptySet(),
+                    Collections.singleton("Druckwerk"),
+                    Optional.of(Genus.NEUTRAL),
+                    bookDeclension,
+                    NounDeclension.createOption(
+                            null,
+                            null,
+                            "Buche",
+                            "Buches",
+
+                            null,
+                            null,
+                            null,
+                            null
+                    )
+            );
+
+    private final Lemma bookLemma =
+            new Lemma(
+                    "Buch",
+                    Collections.singleton("Generic")
+            );
+
+    private final Noun bayNoun =
+            new Noun(
+                    "Bucht",
+                    Collections.singleton("Substantiv"),
+                    Arrays.asList("Bucht"),
+                    Optional.empty(),
+                    Collections.emptySet(),
+                    Collections.emptySet(),
+                    Collections.emptySet(),
+                    Optional.of(Genus.FEMININ),
+                    NounDeclension.createOption(
+                            "Bucht",
+                            "Bucht",
+                            "Bucht",
+                            "Bucht",
+
+                            "Buchten",
+                            "Buchten",
+                            "Buchten",
+                            "Buchten"
+                    ).get(),
+                    Optional.empty()
+            );
+
+    private final Verb goVerb =
+            new Verb(
+                    "gehen",
+                    Collections.singleton("Verb"),
+                    Arrays.asList("ge", "hen"),
+                    Optional.empty(),
+                    Collections.singleton("laufen"),
+                    Collections.singleton("stehen"),
+                    Collections.emptySet(),
+                    Optional.of("geht"),
+                    Optional.of("ging"),
+                    Optional.of("gegangen"),
+                    Optional.empty()
+            );
+
+    private final Adjective beautifulAdjective =
+            new Adjective(
+                    "schön",
+                    new HashSet<>(Arrays.asList("Adjektiv", "Generic")),
+                    Arrays.asList("schön"),
+                    Optional.empty(),
+                    Collections.emptySet(),
+                    Collections.singleton("hässlich"),
+                    Collections.emptySet(),
+                    Optional.of("schöner"),
+                    Optional.of("am schönsten")
+            );
+
+    private final Lemma appleLemma =
+            new Lemma(
+                    "Äpfel",
+                    Collections.singleton("Generic")
+            );
+
+    private final List<Lemma> allLemmas =
+            Arrays.asList(goVerb, bookNoun, appleLemma, bayNoun, beautifulAdjective, bookLemma);
+
+    private BinaryLexicon lexicon;
+
+
+    @Before
+    public void init() throws IOException {
+        BinaryLexiconBuilder builder = new BinaryLexiconBuilder();
+
+        allLemmas.forEach(builder::save);
+
+        lexicon = writeAndOpen(builder);
+    }
+
+
+    private BinaryLexicon writeAndOpen(BinaryLexiconBuilder builder) throws IOException {
+        Path lexiconPath = temporaryFolder.newFile().toPath();
+
+        builder.writeTo(lexiconPath);
+
+        return BinaryLexicon.open(lexiconPath);
+    }
+
+
+    @Test
+    public void allTheLemmasShouldBeReadBack() {
+        assertThat(lexicon.getLemmasCount(), is(allLemmas.size()));
+
+        assertThat(
+                lexicon.findLemmas().collect(Collectors.toSet()),
+                is(new HashSet<>(allLemmas))
+        );
+    }
+
+
+    @Test
+    public void lemmasShouldBeSortedByExpression() {
+        assertThat(
+                lexicon.streamExpressions().collect(Collectors.toList()),
+                is(Arrays.asList("Buch", "Bucht", "gehen", "schön", "Äpfel"))
+        );
+    }
+
+
+    @Test
+    public void wordClassesShouldBeRetrievedSeparately() {
+        assertThat(
+                lexicon.findNouns().collect(Collectors.toList()),
+                is(Arrays.asList(bookNoun, bayNoun))
+        );
+
+        assertThat(
+                lexicon.findVerbs().collect(Collectors.toList()),
+                is(Collections.singletonList(goVerb))
+        );
+
+        assertThat(
+                lexicon.findAdjectives().collect(Collectors.toList()),
+                is(Collections.singletonList(beautifulAdjective))
+        );
+    }
+
+
+    @Test
+    public void findByExpressionShouldReturnAllTheMatchingLemmas() {
+        assertThat(
+                new HashSet<>(lexicon.findByExpression("Buch")),
+                is(new HashSet<>(Arrays.asList(bookNoun, bookLemma)))
+        );
+
+        assertThat(
+                lexicon.findByExpression("Äpfel"),
+                is(Collections.singletonList(appleLemma))
+        );
+
+        assertThat(
+                lexicon.findByExpression("Bu"),
+                is(Collections.emptyList())
+        );
+
+        assertThat(
+                lexicon.findByExpression("Zebra"),
+                is(Collections.emptyList())
+        );
+    }
+
+
+    @Test
+    public void findByExpressionsShouldMergeTheResults() {
+        assertThat(
+                new HashSet<>(lexicon.findByExpressions(Arrays.asList("gehen", "schön", "Missing"))),
+                is(new HashSet<>(Arrays.asList(goVerb, beautifulAdjective)))
+        );
+    }
+
+
+    @Test
+    public void prefixScansShouldReturnTheMatchingLemmas() {
+        assertThat(
+                lexicon.findLemmasByPrefix("Buc").collect(Collectors.toSet()),
+                is(new HashSet<>(Arrays.asList(bookNoun, bookLemma, bayNoun)))
+        );
+
+        assertThat(
+                lexicon.findLemmasByPrefix("Bucht").collect(Collectors.toList()),
+                is(Collections.singletonList(bayNoun))
+        );
+
+        assertThat(
+                lexicon.findLemmasByPrefix("Ä").collect(Collectors.toList()),
+                is(Collections.singletonList(appleLemma))
+        );
+
+        assertThat(
+                lexicon.findLemmasByPrefix("x").count(),
+                is(0L)
+        );
+    }
+
+
+    @Test
+    public void recordFieldsShouldBeReadableWithoutMaterializingTheLemma() {
+        BinaryLemmaRecord bayRecord = lexicon.findRecordsByExpression("Bucht").get(0);
+
+        assertThat(bayRecord.getLemmaClass(), is((Object) Noun.class));
+        assertThat(bayRecord.getExpression(), is("Bucht"));
+        assertThat(bayRecord.getCategories(), is(Collections.singleton("Substantiv")));
+        assertThat(bayRecord.getSyllablesCount(), is(1));
+        assertThat(bayRecord.getGenusOption(), is(Optional.of(Genus.FEMININ)));
+        assertThat(bayRecord.getPronunciationOption(), is(Optional.empty()));
+    }
+
+
+    @Test
+    public void nounGendersShouldBeStreamed() {
+        assertThat(
+                lexicon.streamNounGenders().collect(Collectors.toList()),
+                is(Arrays.asList(
+                        new NounGender("Buch", Optional.of(Genus.NEUTRAL)),
+                        new NounGender("Bucht", Optional.of(Genus.FEMININ))
+                ))
+        );
+    }
+
+
+    @Test
+    public void savingShouldBeRejected() {
+        assertThat(
+                lexicon.save(new Lemma("Zebra", Collections.singleton("Generic"))),
+                is(false)
+        );
+    }
+
+
+    @Test
+    public void theBuilderShouldReplaceLemmasHavingTheSameExpressionAndCategories() throws IOException {
+        BinaryLexiconBuilder builder = new BinaryLexiconBuilder();
+
+        builder.save(bookLemma);
+
+        Lemma replacingLemma =
+                new Lemma(
+                        "Buch",
+                        Collections.singleton("Generic"),
+                        Collections.singletonList("Buch"),
+                        Optional.empty(),
+                        Collections.emptySet(),
+                        Collections.emptySet(),
+                        Collections.emptySet()
+                );
+
+        builder.save(replacingLemma);
+
+        assertThat(builder.getLemmasCount(), is(1));
+
+        assertThat(
+                writeAndOpen(builder).findByExpression("Buch"),
+                is(Collections.singletonList(replacingLemma))
+        );
+    }
+
+
+    @Test
+    public void theBuilderShouldConsumeAnyLexicon() throws IOException {
+        BinaryLexicon copiedLexicon =
+                writeAndOpen(
+                        new BinaryLexiconBuilder().addAll(lexicon)
+                );
+
+        assertThat(
+                copiedLexicon.findLemmas().collect(Collectors.toList()),
+                is(lexicon.findLemmas().collect(Collectors.toList()))
+        );
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void openingAnInvalidFileShouldFail() throws IOException {
+        Path invalidPath = temporaryFolder.newFile().toPath();
+
+        Files.write(invalidPath, "Not a lexicon".getBytes());
+
+        BinaryLexicon.open(invalidPath);
+    }
+}
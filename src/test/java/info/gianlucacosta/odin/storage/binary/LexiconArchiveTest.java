@@ -0,0 +1,247 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.binary;
+
+import info.gianlucacosta.balmung.lexicon.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class LexiconArchiveTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<Lemma> lemmas =
+            Arrays.asList(
+                    new Lemma(
+                            "Alpha",
+                            new HashSet<>(Arrays.asList("Generic", "Test"))
+                    ),
+
+                    new Noun(
+                            "Baum",
+                            Collections.singleton("Substantiv"),
+                            Collections.singletonList("Baum"),
+                            Optional.of("baʊ̯m"),
+                            Collections.emptySet(),
+                            Collections.emptySet(),
+                            Collections.singleton("Pflanze"),
+                            Optional.of(Genus.MASKULIN),
+                            NounDeclension.createOption(
+                                    "Baum",
+                                    "Baum",
+                                    "Baum",
+                                    "Baums",
+
+                                    "Bäume",
+                                    "Bäume",
+                                    "Bäumen",
+                                    "Bäume"
+                            ).get(),
+                            Optional.empty()
+                    ),
+
+                    new Verb(
+                            "laufen",
+                            Collections.singleton("Verb"),
+                            Arrays.asList("lau", "fen"),
+                            Optional.empty(),
+                            Collections.singleton("rennen"),
+                            Collections.emptySet(),
+                            Collections.emptySet(),
+                            Optional.of("läuft"),
+                            Optional.of("lief"),
+                            Optional.of("gelaufen"),
+                            Optional.of("lauf")
+                    ),
+
+                    new Adjective(
+                            "klein",
+                            Collections.singleton("Adjektiv"),
+                            Collections.singletonList("klein"),
+                            Optional.empty(),
+                            Collections.emptySet(),
+                            Collections.singleton("groß"),
+                            Collections.emptySet(),
+                            Optional.of("kleiner"),
+                            Optional.of("am kleinsten")
+                    ),
+
+                    new Lemma(
+                            "Zeta",
+                            Collections.singleton("Generic")
+                    )
+            );
+
+    private BinaryLexicon sourceLexicon;
+
+
+    @Before
+    public void init() throws IOException {
+        BinaryLexiconBuilder builder = new BinaryLexiconBuilder();
+
+        lemmas.forEach(builder::save);
+
+        sourceLexicon = writeAndOpen(builder);
+    }
+
+
+    private BinaryLexicon writeAndOpen(BinaryLexiconBuilder builder) throws IOException {
+        Path lexiconPath = temporaryFolder.newFile().toPath();
+
+        builder.writeTo(lexiconPath);
+
+        return BinaryLexicon.open(lexiconPath);
+    }
+
+
+    @Test
+    public void compressedArchivesShouldBeRestored() throws IOException {
+        testRoundTrip(new LexiconExporter(true, 2));
+    }
+
+
+    @Test
+    public void uncompressedArchivesShouldBeRestored() throws IOException {
+        testRoundTrip(new LexiconExporter(false, 2));
+    }
+
+
+    @Test
+    public void singleChunkArchivesShouldBeRestored() throws IOException {
+        testRoundTrip(new LexiconExporter());
+    }
+
+
+    private void testRoundTrip(LexiconExporter exporter) throws IOException {
+        ByteArrayOutputStream archiveStream = new ByteArrayOutputStream();
+
+        assertThat(
+                exporter.export(sourceLexicon, archiveStream),
+                is((long) lemmas.size())
+        );
+
+        BinaryLexiconBuilder targetBuilder = new BinaryLexiconBuilder();
+
+        assertThat(
+                new LexiconImporter().importInto(
+                        new ByteArrayInputStream(archiveStream.toByteArray()),
+                        targetBuilder
+                ),
+                is((long) lemmas.size())
+        );
+
+        assertThat(
+                writeAndOpen(targetBuilder).findLemmas().collect(Collectors.toList()),
+                is(sourceLexicon.findLemmas().collect(Collectors.toList()))
+        );
+    }
+
+
+    @Test
+    public void emptyLexiconsShouldBeExported() throws IOException {
+        ByteArrayOutputStream archiveStream = new ByteArrayOutputStream();
+
+        assertThat(
+                new LexiconExporter().export(writeAndOpen(new BinaryLexiconBuilder()), archiveStream),
+                is(0L)
+        );
+
+        assertThat(
+                new LexiconImporter().importInto(
+                        new ByteArrayInputStream(archiveStream.toByteArray()),
+                        new BinaryLexiconBuilder()
+                ),
+                is(0L)
+        );
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void importingAnInvalidArchiveShouldFail() {
+        new LexiconImporter().importInto(
+                new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9}),
+                new BinaryLexiconBuilder()
+        );
+    }
+
+
+    @Test
+    public void importingATruncatedArchiveShouldFailWithAnIOException() {
+        byte[] archiveBytes = exportArchive(false);
+
+        assertImportFailsWithIOException(
+                Arrays.copyOf(archiveBytes, archiveBytes.length / 2)
+        );
+    }
+
+
+    @Test
+    public void importingATruncatedChunkShouldFailWithAnIOException() {
+        byte[] archiveBytes = exportArchive(true);
+
+        //Magic number, format version and compression flag, then lemmas count and data length
+        int dataLengthPosition = 4 + 4 + 1 + 4;
+
+        ByteBuffer archiveBuffer = ByteBuffer.wrap(archiveBytes);
+        archiveBuffer.putInt(dataLengthPosition, archiveBuffer.getInt(dataLengthPosition) + 1);
+
+        assertImportFailsWithIOException(archiveBytes);
+    }
+
+
+    private byte[] exportArchive(boolean compressed) {
+        ByteArrayOutputStream archiveStream = new ByteArrayOutputStream();
+
+        new LexiconExporter(compressed, 2).export(sourceLexicon, archiveStream);
+
+        return archiveStream.toByteArray();
+    }
+
+
+    private static void assertImportFailsWithIOException(byte[] archiveBytes) {
+        try {
+            new LexiconImporter().importInto(
+                    new ByteArrayInputStream(archiveBytes),
+                    new BinaryLexiconBuilder()
+            );
+
+            fail();
+        } catch (RuntimeException ex) {
+            assertThat(ex.getCause(), instanceOf(IOException.class));
+        }
+    }
+}
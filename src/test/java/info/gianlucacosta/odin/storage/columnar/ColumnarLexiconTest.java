@@ -0,0 +1,284 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.columnar;
+
+import info.gianlucacosta.balmung.lexicon.*;
+import info.gianlucacosta.odin.storage.LemmaCriteria;
+import info.gianlucacosta.odin.storage.NounGender;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ColumnarLexiconTest {
+    private final Noun treeNoun =
+            buildNoun("Baum", Genus.MASKULIN, "Baum", "Bäume");
+
+    private final Noun bookNoun =
+            buildNoun("Buch", Genus.NEUTRAL, "Buch", "Bücher");
+
+    private final Noun carNoun =
+            buildNoun("Auto", Genus.NEUTRAL, "Auto", "Autos");
+
+    private final Noun freedomNoun =
+            buildNoun("Freiheit", Genus.FEMININ, "Freiheit", "Freiheiten");
+
+    private final Noun unityNoun =
+            buildNoun("Einheit", Genus.FEMININ, "Einheit", "Einheiten");
+
+    private final Verb readVerb =
+            new Verb(
+                    "lesen",
+                    Collections.singleton("Verb"),
+                    Arrays.asList("le", "sen"),
+                    Optional.of("ˈleːzn̩"),
+                    Collections.emptySet(),
+                    Collections.emptySet(),
+                    Collections.emptySet(),
+                    Optional.of("liest"),
+                    Optional.of("las"),
+                    Optional.of("gelesen"),
+                    Optional.of("lies")
+            );
+
+    private final Adjective fastAdjective =
+            new Adjective(
+                    "schnell",
+                    new HashSet<>(Arrays.asList("Adjektiv", "Generic")),
+                    Collections.singletonList("schnell"),
+                    Optional.empty(),
+                    Collections.singleton("rasch"),
+                    Collections.singleton("langsam"),
+                    Collections.emptySet(),
+                    Optional.of("schneller"),
+                    Optional.of("am schnellsten")
+            );
+
+    private final Lemma genericLemma =
+            new Lemma(
+                    "Baum",
+                    Collections.singleton("Generic")
+            );
+
+    private final List<Lemma> allLemmas =
+            Arrays.asList(treeNoun, bookNoun, carNoun, freedomNoun, unityNoun, readVerb, fastAdjective, genericLemma);
+
+    private ColumnarLexicon lexicon;
+
+
+    private static Noun buildNoun(String expression, Genus genus, String singular, String plural) {
+        return new Noun(
+                expression,
+                Collections.singleton("Substantiv"),
+                Collections.singletonList(expression),
+                Optional.empty(),
+                Collections.emptySet(),
+                Collections.emptySet(),
+                Collections.emptySet(),
+                Optional.of(genus),
+                NounDeclension.createOption(
+                        singular,
+                        singular,
+                        singular,
+                        singular,
+
+                        plural,
+                        plural,
+                        plural,
+                        plural
+                ).get(),
+                Optional.empty()
+        );
+    }
+
+
+    @Before
+    public void init() {
+        ColumnarLexiconBuilder builder = new ColumnarLexiconBuilder();
+
+        allLemmas.forEach(builder::save);
+
+        lexicon = builder.build();
+    }
+
+
+    @Test
+    public void allTheLemmasShouldBeMaterializedBack() {
+        assertThat(lexicon.getLemmasCount(), is(allLemmas.size()));
+
+        assertThat(
+                lexicon.findLemmas().collect(Collectors.toSet()),
+                is(new HashSet<>(allLemmas))
+        );
+
+        assertThat(
+                lexicon.findVerbs().collect(Collectors.toList()),
+                is(Collections.singletonList(readVerb))
+        );
+
+        assertThat(
+                lexicon.findAdjectives().collect(Collectors.toList()),
+                is(Collections.singletonList(fastAdjective))
+        );
+    }
+
+
+    @Test
+    public void findByExpressionShouldReturnAllTheMatchingLemmas() {
+        assertThat(
+                new HashSet<>(lexicon.findByExpression("Baum")),
+                is(new HashSet<>(Arrays.asList(treeNoun, genericLemma)))
+        );
+
+        assertThat(
+                lexicon.findByExpression("Bau"),
+                is(Collections.emptyList())
+        );
+
+        assertThat(
+                new HashSet<>(lexicon.findByExpressions(Arrays.asList("Buch", "lesen"))),
+                is(new HashSet<>(Arrays.asList(bookNoun, readVerb)))
+        );
+    }
+
+
+    @Test
+    public void expressionsShouldBeSortedAndDistinct() {
+        assertThat(
+                lexicon.streamExpressions().collect(Collectors.toList()),
+                is(Arrays.asList("Auto", "Baum", "Buch", "Einheit", "Freiheit", "lesen", "schnell"))
+        );
+    }
+
+
+    @Test
+    public void nounsShouldBeCountedByGenusAndSuffix() {
+        Map<Optional<Genus>, Long> expectedCounts = new HashMap<>();
+        expectedCounts.put(Optional.of(Genus.FEMININ), 2L);
+
+        assertThat(
+                lexicon.countNounsByGenus("heit"),
+                is(expectedCounts)
+        );
+
+        assertThat(
+                lexicon.countNounsByGenus("").get(Optional.of(Genus.NEUTRAL)),
+                is(2L)
+        );
+    }
+
+
+    @Test
+    public void umlautPluralsShouldBeFoundWithoutMaterializingLemmas() {
+        assertThat(
+                lexicon.scanRows(Noun.class)
+                        .filter(lexicon::pluralAddsUmlaut)
+                        .mapToObj(lexicon::getExpression)
+                        .collect(Collectors.toList()),
+                is(Arrays.asList("Baum", "Buch"))
+        );
+    }
+
+
+    @Test
+    public void categoryScansShouldUseTheBitsets() {
+        assertThat(
+                lexicon.scanCategory("Generic")
+                        .mapToObj(lexicon::getExpression)
+                        .collect(Collectors.toList()),
+                is(Arrays.asList("Baum", "schnell"))
+        );
+
+        assertThat(lexicon.scanCategory("Missing").count(), is(0L));
+    }
+
+
+    @Test
+    public void criteriaShouldBeEvaluatedOnTheColumns() {
+        assertThat(
+                lexicon.findLemmas(Noun.class, LemmaCriteria.any().withGenus(Genus.FEMININ))
+                        .collect(Collectors.toSet()),
+                is(new HashSet<>(Arrays.asList(freedomNoun, unityNoun)))
+        );
+
+        assertThat(
+                lexicon.findLemmas(Lemma.class, LemmaCriteria.any().withCategory("Generic").withSyllablesCount(1))
+                        .collect(Collectors.toList()),
+                is(Collections.singletonList(fastAdjective))
+        );
+
+        assertThat(
+                lexicon.findLemmas(Lemma.class, LemmaCriteria.any().withCategory("Missing")).count(),
+                is(0L)
+        );
+    }
+
+
+    @Test
+    public void nounGendersShouldBeStreamed() {
+        assertThat(
+                lexicon.streamNounGenders().collect(Collectors.toList()).get(0),
+                is(new NounGender("Auto", Optional.of(Genus.NEUTRAL)))
+        );
+    }
+
+
+    @Test
+    public void samplingMoreLemmasThanAvailableShouldReturnThemAll() {
+        assertThat(
+                new HashSet<>(lexicon.sample(Noun.class, Integer.MAX_VALUE, LemmaCriteria.any())),
+                is(new HashSet<>(Arrays.asList(treeNoun, bookNoun, carNoun, freedomNoun, unityNoun)))
+        );
+    }
+
+
+    @Test
+    public void statisticsShouldBeComputedFromTheColumns() {
+        assertThat(
+                lexicon.getStatistics().countLemmasByCategory().get("Substantiv"),
+                is(5L)
+        );
+
+        assertThat(
+                lexicon.getStatistics().countNounsByGenus().get(Optional.of(Genus.NEUTRAL)),
+                is(2L)
+        );
+
+        assertThat(
+                lexicon.getStatistics().countLemmasByWordClass().get(Lemma.class),
+                is(1L)
+        );
+    }
+
+
+    @Test
+    public void savingShouldBeRejected() {
+        assertThat(
+                lexicon.save(new Lemma("Zebra", Collections.singleton("Generic"))),
+                is(false)
+        );
+    }
+}
@@ -21,12 +21,30 @@
 package info.gianlucacosta.odin.storage.hibernate;
 
 import info.gianlucacosta.balmung.lexicon.*;
+import info.gianlucacosta.odin.storage.LemmaCriteria;
+import info.gianlucacosta.odin.storage.Lexicon;
+import info.gianlucacosta.odin.storage.NounGender;
+import info.gianlucacosta.odin.storage.binary.LexiconExporter;
+import info.gianlucacosta.odin.storage.binary.LexiconImporter;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.store.MemoryStoreEvictionPolicy;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.ehcache.internal.regions.EhcacheDataRegion;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -204,6 +222,17 @@ public class HibernateLexiconTest extends LocalDatabaseTestBase {
                 .forEach(hibernateLexicon::save);
 
 
+        assertFoundLemmas(
+                lemmaSet,
+                lexiconFindingMethod
+        );
+    }
+
+
+    private <T extends Lemma> void assertFoundLemmas(
+            Set<T> expectedLemmas,
+            Supplier<Stream<T>> lexiconFindingMethod
+    ) {
         try (Stream<T> retrievedLemmas =
                      lexiconFindingMethod.get()) {
 
@@ -211,7 +240,7 @@ public class HibernateLexiconTest extends LocalDatabaseTestBase {
                     retrievedLemmas.collect(Collectors.toSet());
 
             assertEquals(
-                    lemmaSet,
+                    expectedLemmas,
                     retrievedSet
             );
         }
@@ -254,6 +283,1162 @@ public class HibernateLexiconTest extends LocalDatabaseTestBase {
     }
 
 
+    @Test
+    public void findingByExpressionShouldWork() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        assertThat(
+                hibernateLexicon.findByExpression("Alpha Noun"),
+                is(
+                        testNouns
+                                .stream()
+                                .filter(noun -> noun.getExpression().equals("Alpha Noun"))
+                                .collect(Collectors.toList())
+                )
+        );
+    }
+
+
+    @Test
+    public void findingByMissingExpressionShouldReturnAnEmptyList() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        assertThat(
+                hibernateLexicon.findByExpression("Missing"),
+                is(Collections.emptyList())
+        );
+    }
+
+
+    @Test
+    public void findingByExpressionsShouldWork() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        Set<Lemma> expectedLemmas = new HashSet<>();
+        expectedLemmas.addAll(testVerbs);
+        expectedLemmas.addAll(testAdjectives);
+
+        List<String> expressions =
+                expectedLemmas
+                        .stream()
+                        .map(Lemma::getExpression)
+                        .collect(Collectors.toList());
+
+        expressions.add("Missing");
+
+        assertEquals(
+                expectedLemmas,
+                new HashSet<>(hibernateLexicon.findByExpressions(expressions))
+        );
+    }
+
+
+    @Test
+    public void findingNounsWithSelectedAssociationsShouldLeaveTheOthersUninitialized() {
+        testNouns
+                .forEach(hibernateLexicon::save);
+
+        List<Noun> nouns;
+
+        try (Stream<Noun> nounsStream =
+                     hibernateLexicon.findNouns(EnumSet.of(LemmaAssociation.CATEGORIES))) {
+            nouns = nounsStream.collect(Collectors.toList());
+        }
+
+        EntityPersister nounPersister =
+                sessionFactory
+                        .unwrap(SessionFactoryImplementor.class)
+                        .getMetamodel()
+                        .entityPersister(Noun.class);
+
+        assertThat(
+                nouns.size(),
+                is(testNouns.size())
+        );
+
+        nouns.forEach(noun -> {
+            assertThat(
+                    Hibernate.isInitialized(
+                            nounPersister.getPropertyValue(noun, LemmaAssociation.CATEGORIES.getAttributeName())
+                    ),
+                    is(true)
+            );
+
+            assertThat(
+                    noun.getCategories(),
+                    is(Collections.singleton("Noun"))
+            );
+
+            EnumSet
+                    .complementOf(EnumSet.of(LemmaAssociation.CATEGORIES))
+                    .forEach(association ->
+                            assertThat(
+                                    Hibernate.isInitialized(
+                                            nounPersister.getPropertyValue(noun, association.getAttributeName())
+                                    ),
+                                    is(false)
+                            )
+                    );
+        });
+    }
+
+
+    @Test
+    public void lemmasFoundByExpressionShouldBeFullyInitialized() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        EntityPersister lemmaPersister =
+                sessionFactory
+                        .unwrap(SessionFactoryImplementor.class)
+                        .getMetamodel()
+                        .entityPersister(Lemma.class);
+
+        List<Lemma> foundLemmas = new ArrayList<>();
+        foundLemmas.addAll(hibernateLexicon.findByExpression("Alpha Noun"));
+        foundLemmas.addAll(hibernateLexicon.findByExpressions(Arrays.asList("Alpha Verb", "Beta Adjective")));
+
+        assertThat(
+                foundLemmas.size(),
+                is(3)
+        );
+
+        foundLemmas.forEach(lemma ->
+                EnumSet
+                        .allOf(LemmaAssociation.class)
+                        .forEach(association ->
+                                assertThat(
+                                        Hibernate.isInitialized(
+                                                lemmaPersister.getPropertyValue(lemma, association.getAttributeName())
+                                        ),
+                                        is(true)
+                                )
+                        )
+        );
+    }
+
+
+    @Test
+    public void findingLemmasShouldNotIssueAQueryPerLemma() {
+        for (int i = 0; i < 50; i++) {
+            hibernateLexicon.save(
+                    new Lemma(
+                            "Lemma " + i,
+                            Collections.singleton("Generic"),
+                            Arrays.asList("Lem", "ma"),
+                            Optional.empty(),
+                            Collections.singleton("Synonym"),
+                            Collections.singleton("Antonym"),
+                            Collections.singleton("Hypernym")
+                    )
+            );
+        }
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        try (Stream<Lemma> lemmas = hibernateLexicon.findLemmas()) {
+            assertThat(
+                    lemmas.count(),
+                    is(50L)
+            );
+        }
+
+        assertThat(
+                statistics.getPrepareStatementCount(),
+                is(1L + LemmaAssociation.values().length)
+        );
+
+        statistics.clear();
+
+        try (Stream<Lemma> lemmas = hibernateLexicon.findLemmas(EnumSet.noneOf(LemmaAssociation.class))) {
+            assertThat(
+                    lemmas.count(),
+                    is(50L)
+            );
+        }
+
+        assertThat(
+                statistics.getPrepareStatementCount(),
+                is(1L)
+        );
+    }
+
+
+    @Test
+    public void streamingExpressionsShouldWork() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        hibernateLexicon.save(
+                new Lemma(
+                        "Alpha Noun",
+                        Collections.singleton("Generic")
+                )
+        );
+
+        try (Stream<String> expressions = hibernateLexicon.streamExpressions()) {
+            assertThat(
+                    expressions.sorted().collect(Collectors.toList()),
+                    is(
+                            allTestLemmas
+                                    .stream()
+                                    .map(Lemma::getExpression)
+                                    .sorted()
+                                    .collect(Collectors.toList())
+                    )
+            );
+        }
+    }
+
+
+    @Test
+    public void streamingNounGendersShouldWork() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        Noun feminineNoun =
+                new Noun(
+                        "Gamma Noun",
+                        Collections.singleton("Noun"),
+                        Collections.emptyList(),
+                        Optional.empty(),
+                        Collections.emptySet(),
+                        Collections.emptySet(),
+                        Collections.emptySet(),
+                        Optional.of(Genus.FEMININ),
+                        buildSimpleNounDeclension("Test 3"),
+                        Optional.empty()
+                );
+
+        hibernateLexicon.save(feminineNoun);
+
+
+        Set<NounGender> expectedNounGenders = new HashSet<>();
+        expectedNounGenders.add(new NounGender("Alpha Noun", Optional.empty()));
+        expectedNounGenders.add(new NounGender("Beta Noun", Optional.empty()));
+        expectedNounGenders.add(new NounGender("Gamma Noun", Optional.of(Genus.FEMININ)));
+
+        try (Stream<NounGender> nounGenders = hibernateLexicon.streamNounGenders()) {
+            assertEquals(
+                    expectedNounGenders,
+                    nounGenders.collect(Collectors.toSet())
+            );
+        }
+    }
+
+
+    @Test
+    public void findingLemmasByCategoryShouldWork() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        assertFoundLemmas(
+                testVerbs,
+                () -> hibernateLexicon.findLemmas(
+                        Verb.class,
+                        LemmaCriteria.any().withCategory("Verb")
+                )
+        );
+
+        assertFoundLemmas(
+                new HashSet<>(testVerbs),
+                () -> hibernateLexicon.findLemmas(
+                        Lemma.class,
+                        LemmaCriteria.any().withCategory("Verb")
+                )
+        );
+
+        assertFoundLemmas(
+                Collections.emptySet(),
+                () -> hibernateLexicon.findLemmas(
+                        Noun.class,
+                        LemmaCriteria.any().withCategory("Verb")
+                )
+        );
+    }
+
+
+    @Test
+    public void findingNounsByGenusAndSyllablesCountShouldWork() {
+        Noun threeSyllablesFeminineNoun =
+                buildFeminineNoun("Gamma Noun", Arrays.asList("Gam", "ma", "Noun"));
+
+        Noun twoSyllablesFeminineNoun =
+                buildFeminineNoun("Delta Noun", Arrays.asList("Del", "ta"));
+
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        hibernateLexicon.save(threeSyllablesFeminineNoun);
+        hibernateLexicon.save(twoSyllablesFeminineNoun);
+
+        LemmaCriteria criteria =
+                LemmaCriteria
+                        .any()
+                        .withGenus(Genus.FEMININ)
+                        .withSyllablesCount(3);
+
+        assertFoundLemmas(
+                Collections.singleton(threeSyllablesFeminineNoun),
+                () -> hibernateLexicon.findLemmas(Noun.class, criteria)
+        );
+
+        assertFoundLemmas(
+                Collections.singleton(threeSyllablesFeminineNoun),
+                () -> hibernateLexicon.findLemmas(Lemma.class, criteria)
+        );
+
+        assertFoundLemmas(
+                Collections.emptySet(),
+                () -> hibernateLexicon.findLemmas(Verb.class, criteria)
+        );
+    }
+
+
+    private static Noun buildFeminineNoun(String expression, List<String> syllables) {
+        return new Noun(
+                expression,
+                Collections.singleton("Noun"),
+                syllables,
+                Optional.empty(),
+                Collections.emptySet(),
+                Collections.emptySet(),
+                Collections.emptySet(),
+                Optional.of(Genus.FEMININ),
+                buildSimpleNounDeclension(expression),
+                Optional.empty()
+        );
+    }
+
+
+    @Test
+    public void findingAllLemmasInChunksShouldWork() {
+        HibernateLexicon chunkingLexicon =
+                new HibernateLexicon(sessionFactory, SavingMode.INSERT, 3);
+
+        allTestLemmas
+                .forEach(chunkingLexicon::save);
+
+        assertFoundLemmas(
+                allTestLemmas,
+                chunkingLexicon::findLemmas
+        );
+    }
+
+
+    @Test
+    public void findingNounsInFullChunksShouldWork() {
+        HibernateLexicon chunkingLexicon =
+                new HibernateLexicon(sessionFactory, SavingMode.INSERT, testNouns.size());
+
+        allTestLemmas
+                .forEach(chunkingLexicon::save);
+
+        assertFoundLemmas(
+                testNouns,
+                chunkingLexicon::findNouns
+        );
+    }
+
+
+    @Test
+    public void upsertingLemmasTwiceShouldAlwaysReturnTrue() {
+        HibernateLexicon upsertingLexicon =
+                new HibernateLexicon(sessionFactory, SavingMode.UPSERT);
+
+        assertThat(
+                allTestLemmas
+                        .stream()
+                        .allMatch(upsertingLexicon::save),
+
+                is(true)
+        );
+
+        assertThat(
+                allTestLemmas
+                        .stream()
+                        .allMatch(upsertingLexicon::save),
+
+                is(true)
+        );
+
+        assertFoundLemmas(
+                allTestLemmas,
+                upsertingLexicon::findLemmas
+        );
+    }
+
+
+    @Test
+    public void upsertingShouldReplaceLemmasStoredBeforeStartup() {
+        hibernateLexicon.save(
+                buildSynonymousLemma("Alpha")
+        );
+
+        hibernateLexicon.save(
+                new Lemma(
+                        "Gamma Generic Lemma",
+                        Collections.singleton("Other")
+                )
+        );
+
+
+        HibernateLexicon upsertingLexicon =
+                new HibernateLexicon(sessionFactory, SavingMode.UPSERT);
+
+        Lemma replacingLemma =
+                buildSynonymousLemma("Beta");
+
+        assertThat(
+                upsertingLexicon.save(replacingLemma),
+                is(true)
+        );
+
+
+        Set<Lemma> expectedLemmas = new HashSet<>();
+        expectedLemmas.add(replacingLemma);
+        expectedLemmas.add(
+                new Lemma(
+                        "Gamma Generic Lemma",
+                        Collections.singleton("Other")
+                )
+        );
+
+        assertFoundLemmas(
+                expectedLemmas,
+                upsertingLexicon::findLemmas
+        );
+    }
+
+
+    @Test
+    public void upsertingShouldUpdateTheSyllablesCountFilter() {
+        HibernateLexicon upsertingLexicon =
+                new HibernateLexicon(sessionFactory, SavingMode.UPSERT);
+
+        upsertingLexicon.save(
+                new Lemma(
+                        "Haus",
+                        Collections.singleton("Generic"),
+                        Collections.singletonList("Haus"),
+                        Optional.empty(),
+                        Collections.emptySet(),
+                        Collections.emptySet(),
+                        Collections.emptySet()
+                )
+        );
+
+        Lemma replacingLemma =
+                new Lemma(
+                        "Haus",
+                        Collections.singleton("Generic"),
+                        Arrays.asList("Ha", "us"),
+                        Optional.empty(),
+                        Collections.emptySet(),
+                        Collections.emptySet(),
+                        Collections.emptySet()
+                );
+
+        upsertingLexicon.save(replacingLemma);
+
+        assertFoundLemmas(
+                Collections.emptySet(),
+                () -> upsertingLexicon.findLemmas(Lemma.class, LemmaCriteria.any().withSyllablesCount(1))
+        );
+
+        assertFoundLemmas(
+                Collections.singleton(replacingLemma),
+                () -> upsertingLexicon.findLemmas(Lemma.class, LemmaCriteria.any().withSyllablesCount(2))
+        );
+    }
+
+
+    @Test
+    public void upsertingShouldKeepLemmasHavingDifferentCategories() {
+        HibernateLexicon upsertingLexicon =
+                new HibernateLexicon(sessionFactory, SavingMode.UPSERT);
+
+        Set<Lemma> expectedLemmas = new HashSet<>();
+
+        expectedLemmas.add(
+                new Lemma(
+                        "Alpha Generic Lemma",
+                        Collections.singleton("Generic")
+                )
+        );
+
+        expectedLemmas.add(
+                new Lemma(
+                        "Alpha Generic Lemma",
+                        Collections.singleton("Other")
+                )
+        );
+
+        assertThat(
+                expectedLemmas
+                        .stream()
+                        .allMatch(upsertingLexicon::save),
+
+                is(true)
+        );
+
+        assertFoundLemmas(
+                expectedLemmas,
+                upsertingLexicon::findLemmas
+        );
+    }
+
+
+    @Test
+    public void countingLemmasByCategoryShouldWork() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        Map<String, Long> expectedCounts = new HashMap<>();
+        expectedCounts.put("Generic", 2L);
+        expectedCounts.put("Noun", 2L);
+        expectedCounts.put("Verb", 2L);
+        expectedCounts.put("Adjective", 2L);
+
+        assertThat(
+                hibernateLexicon.getStatistics().countLemmasByCategory(),
+                is(expectedCounts)
+        );
+    }
+
+
+    @Test
+    public void countingNounsByGenusShouldWork() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        hibernateLexicon.save(
+                buildFeminineNoun("Gamma Noun", Arrays.asList("Gam", "ma", "Noun"))
+        );
+
+        Map<Optional<Genus>, Long> expectedCounts = new HashMap<>();
+        expectedCounts.put(Optional.empty(), 2L);
+        expectedCounts.put(Optional.of(Genus.FEMININ), 1L);
+
+        assertThat(
+                hibernateLexicon.getStatistics().countNounsByGenus(),
+                is(expectedCounts)
+        );
+    }
+
+
+    @Test
+    public void countingLemmasByWordClassShouldBeUpdatedAfterSaving() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        Map<Class<? extends Lemma>, Long> expectedCounts = new HashMap<>();
+        expectedCounts.put(Lemma.class, 2L);
+        expectedCounts.put(Noun.class, 2L);
+        expectedCounts.put(Verb.class, 2L);
+        expectedCounts.put(Adjective.class, 2L);
+
+        assertThat(
+                hibernateLexicon.getStatistics().countLemmasByWordClass(),
+                is(expectedCounts)
+        );
+
+        hibernateLexicon.save(
+                new Verb(
+                        "Gamma Verb",
+                        Collections.singleton("Verb")
+                )
+        );
+
+        expectedCounts.put(Verb.class, 3L);
+
+        assertThat(
+                hibernateLexicon.getStatistics().countLemmasByWordClass(),
+                is(expectedCounts)
+        );
+    }
+
+
+    @Test
+    public void cachedStatisticsShouldReflectWritesOfOtherInstances() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        assertThat(
+                hibernateLexicon.getStatistics().countLemmasByWordClass().get(Verb.class),
+                is(2L)
+        );
+
+        new HibernateLexicon(sessionFactory).save(
+                new Verb(
+                        "Gamma Verb",
+                        Collections.singleton("Verb")
+                )
+        );
+
+        assertThat(
+                hibernateLexicon.getStatistics().countLemmasByWordClass().get(Verb.class),
+                is(3L)
+        );
+    }
+
+
+    @Test
+    public void samplingNounsShouldReturnDistinctMatchingNouns() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        List<Noun> sampledNouns =
+                hibernateLexicon.sample(Noun.class, 1, LemmaCriteria.any());
+
+        assertThat(sampledNouns.size(), is(1));
+        assertThat(testNouns.containsAll(sampledNouns), is(true));
+    }
+
+
+    @Test
+    public void samplingMoreLemmasThanAvailableShouldReturnAllTheMatchingLemmas() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        List<Verb> sampledVerbs =
+                hibernateLexicon.sample(Verb.class, 10, LemmaCriteria.any());
+
+        assertThat(new HashSet<>(sampledVerbs), is(testVerbs));
+        assertThat(sampledVerbs.size(), is(testVerbs.size()));
+    }
+
+
+    @Test
+    public void samplingLemmasWithCriteriaShouldBeUpdatedAfterSaving() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        LemmaCriteria criteria =
+                LemmaCriteria
+                        .any()
+                        .withGenus(Genus.FEMININ);
+
+        assertThat(
+                hibernateLexicon.sample(Lemma.class, 3, criteria),
+                is(Collections.emptyList())
+        );
+
+        Noun feminineNoun =
+                buildFeminineNoun("Gamma Noun", Arrays.asList("Gam", "ma", "Noun"));
+
+        hibernateLexicon.save(feminineNoun);
+
+        assertThat(
+                hibernateLexicon.sample(Lemma.class, 3, criteria),
+                is(Collections.singletonList(feminineNoun))
+        );
+    }
+
+
+    @Test
+    public void samplingShouldSeeLemmasReplacedByAnotherLexicon() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        assertThat(
+                new HashSet<>(hibernateLexicon.sample(Verb.class, 10, LemmaCriteria.any())),
+                is(testVerbs)
+        );
+
+        Verb replacedVerb =
+                new Verb(
+                        "Alpha Verb",
+                        Collections.singleton("Verb"),
+                        Arrays.asList("Al", "pha", "Verb"),
+                        Optional.empty(),
+                        Collections.emptySet(),
+                        Collections.emptySet(),
+                        Collections.emptySet(),
+                        Optional.of("alphat"),
+                        Optional.empty(),
+                        Optional.empty(),
+                        Optional.empty()
+                );
+
+        HibernateLexicon upsertingLexicon =
+                new HibernateLexicon(sessionFactory, SavingMode.UPSERT);
+
+        upsertingLexicon.save(replacedVerb);
+
+        List<Verb> sampledVerbs =
+                hibernateLexicon.sample(Verb.class, 10, LemmaCriteria.any());
+
+        assertThat(sampledVerbs.size(), is(testVerbs.size()));
+        assertThat(sampledVerbs.contains(replacedVerb), is(true));
+    }
+
+
+    @Test
+    public void defaultSamplingShouldUseTheFilteredScan() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        Lexicon scanningLexicon = new Lexicon() {
+            @Override
+            public Stream<Lemma> findLemmas() {
+                return hibernateLexicon.findLemmas();
+            }
+
+            @Override
+            public Stream<Noun> findNouns() {
+                return hibernateLexicon.findNouns();
+            }
+
+            @Override
+            public Stream<Verb> findVerbs() {
+                return hibernateLexicon.findVerbs();
+            }
+
+            @Override
+            public Stream<Adjective> findAdjectives() {
+                return hibernateLexicon.findAdjectives();
+            }
+
+            @Override
+            public boolean save(Lemma lemma) {
+                return hibernateLexicon.save(lemma);
+            }
+        };
+
+        List<Adjective> sampledAdjectives =
+                scanningLexicon.sample(Adjective.class, 1, LemmaCriteria.any());
+
+        assertThat(sampledAdjectives.size(), is(1));
+        assertThat(testAdjectives.containsAll(sampledAdjectives), is(true));
+
+        assertThat(
+                new HashSet<>(scanningLexicon.sample(Adjective.class, 5, LemmaCriteria.any())),
+                is(testAdjectives)
+        );
+    }
+
+
+    @Test
+    public void hotLookupsShouldBeServedByTheSecondLevelCache() {
+        SessionFactory cachingSessionFactory =
+                new LocalDatabase().createSessionFactory(
+                        Optional.of(new SecondLevelCacheSettings())
+                );
+
+        try {
+            HibernateLexicon cachingLexicon =
+                    new HibernateLexicon(cachingSessionFactory);
+
+            allTestLemmas
+                    .forEach(cachingLexicon::save);
+
+            List<Lemma> expectedLemmas =
+                    cachingLexicon.findByExpression("Alpha Noun");
+
+            Statistics statistics = cachingSessionFactory.getStatistics();
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+
+            assertThat(
+                    cachingLexicon.findByExpression("Alpha Noun"),
+                    is(expectedLemmas)
+            );
+
+            assertThat(
+                    statistics.getPrepareStatementCount(),
+                    is(0L)
+            );
+
+            assertThat(
+                    statistics.getQueryCacheHitCount(),
+                    is(1L)
+            );
+        } finally {
+            cachingSessionFactory.close();
+        }
+    }
+
+
+    @Test
+    public void cacheSettingsShouldApplyToTheRegions() {
+        SessionFactory cachingSessionFactory =
+                new LocalDatabase().createSessionFactory(
+                        Optional.of(
+                                new SecondLevelCacheSettings(
+                                        123,
+                                        CacheEvictionPolicy.LFU,
+                                        Optional.of(Duration.ofMinutes(2))
+                                )
+                        )
+                );
+
+        try {
+            EhcacheDataRegion lemmaRegion =
+                    (EhcacheDataRegion) cachingSessionFactory
+                            .unwrap(SessionFactoryImplementor.class)
+                            .getCache()
+                            .getEntityRegionAccess(Lemma.class.getName())
+                            .getRegion();
+
+            CacheConfiguration regionConfiguration =
+                    lemmaRegion.getEhcache().getCacheConfiguration();
+
+            assertThat(regionConfiguration.getMaxEntriesLocalHeap(), is(123L));
+            assertThat(regionConfiguration.getMemoryStoreEvictionPolicy(), is(MemoryStoreEvictionPolicy.LFU));
+            assertThat(regionConfiguration.getTimeToLiveSeconds(), is(120L));
+        } finally {
+            cachingSessionFactory.close();
+        }
+    }
+
+
+    @Test
+    public void findingAllLemmasInParallelShouldWork() {
+        HibernateLexicon chunkingLexicon =
+                new HibernateLexicon(sessionFactory, SavingMode.INSERT, 3);
+
+        Set<Lemma> expectedLemmas = new HashSet<>(allTestLemmas);
+
+        for (int i = 0; i < 40; i++) {
+            expectedLemmas.add(
+                    new Lemma(
+                            "Parallel Lemma " + i,
+                            Collections.singleton("Generic")
+                    )
+            );
+        }
+
+        expectedLemmas
+                .forEach(chunkingLexicon::save);
+
+        try (Stream<Lemma> lemmas = chunkingLexicon.findLemmasInParallel()) {
+            assertThat(lemmas.isParallel(), is(true));
+
+            List<Lemma> foundLemmas = lemmas.collect(Collectors.toList());
+
+            assertThat(foundLemmas.size(), is(expectedLemmas.size()));
+            assertThat(new HashSet<>(foundLemmas), is(expectedLemmas));
+        }
+    }
+
+
+    @Test
+    public void parallelScansShouldSplitTheIdRange() {
+        HibernateLexicon chunkingLexicon =
+                new HibernateLexicon(sessionFactory, SavingMode.INSERT, 1);
+
+        allTestLemmas
+                .forEach(chunkingLexicon::save);
+
+        try (Stream<Noun> nouns = chunkingLexicon.findNounsInParallel()) {
+            Spliterator<Noun> spliterator = nouns.spliterator();
+
+            Spliterator<Noun> prefixSpliterator = spliterator.trySplit();
+
+            assertThat(prefixSpliterator != null, is(true));
+
+            Set<Noun> foundNouns = new HashSet<>();
+            prefixSpliterator.forEachRemaining(foundNouns::add);
+            spliterator.forEachRemaining(foundNouns::add);
+
+            assertThat(foundNouns, is(testNouns));
+        }
+    }
+
+
+    @Test
+    public void parallelScansOfEmptyLexiconsShouldWork() {
+        try (Stream<Verb> verbs = hibernateLexicon.findVerbsInParallel()) {
+            assertThat(verbs.count(), is(0L));
+        }
+    }
+
+
+    @Test
+    public void publishingLemmasShouldFollowTheDemandWithoutPinningSessions() {
+        HibernateLexicon chunkingLexicon =
+                new HibernateLexicon(sessionFactory, SavingMode.INSERT, 3);
+
+        allTestLemmas
+                .forEach(chunkingLexicon::save);
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<Lemma> receivedLemmas = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        AtomicReference<Subscription> subscriptionReference = new AtomicReference<>();
+
+        chunkingLexicon.publishLemmas().subscribe(new Subscriber<Lemma>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscriptionReference.set(subscription);
+            }
+
+            @Override
+            public void onNext(Lemma lemma) {
+                receivedLemmas.add(lemma);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        });
+
+        assertThat(receivedLemmas.size(), is(0));
+        assertThat(statistics.getSessionOpenCount(), is(0L));
+
+        while (!completed.get()) {
+            int previousSize = receivedLemmas.size();
+
+            subscriptionReference.get().request(1);
+
+            assertThat(
+                    receivedLemmas.size() - previousSize <= 1,
+                    is(true)
+            );
+
+            assertThat(
+                    statistics.getSessionOpenCount(),
+                    is(statistics.getSessionCloseCount())
+            );
+        }
+
+        assertThat(receivedLemmas.size(), is(allTestLemmas.size()));
+        assertThat(new HashSet<>(receivedLemmas), is(allTestLemmas));
+    }
+
+
+    @Test
+    public void invalidRequestsShouldBeSignaledAfterTheCurrentItem() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        List<String> signals = new ArrayList<>();
+        AtomicReference<Subscription> subscriptionReference = new AtomicReference<>();
+
+        hibernateLexicon.publishLemmas().subscribe(new Subscriber<Lemma>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscriptionReference.set(subscription);
+            }
+
+            @Override
+            public void onNext(Lemma lemma) {
+                signals.add("onNext:start");
+                subscriptionReference.get().request(0);
+                signals.add("onNext:end");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add("onError:" + throwable.getClass().getSimpleName());
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("onComplete");
+            }
+        });
+
+        subscriptionReference.get().request(2);
+
+        assertThat(
+                signals,
+                is(Arrays.asList("onNext:start", "onNext:end", "onError:IllegalArgumentException"))
+        );
+    }
+
+
+    @Test
+    public void failingSubscribersShouldBeCancelledWithoutErrorSignals() {
+        allTestLemmas
+                .forEach(hibernateLexicon::save);
+
+        List<String> signals = new ArrayList<>();
+        AtomicReference<Subscription> subscriptionReference = new AtomicReference<>();
+
+        hibernateLexicon.publishLemmas().subscribe(new Subscriber<Lemma>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscriptionReference.set(subscription);
+            }
+
+            @Override
+            public void onNext(Lemma lemma) {
+                signals.add("onNext");
+                throw new IllegalStateException();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add("onError");
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("onComplete");
+            }
+        });
+
+        subscriptionReference.get().request(Long.MAX_VALUE);
+        subscriptionReference.get().request(1);
+
+        assertThat(signals, is(Collections.singletonList("onNext")));
+    }
+
+
+    @Test
+    public void unparameterizedNamedQueriesShouldReadAllTheLemmas() {
+        allTestLemmas.forEach(hibernateLexicon::save);
+
+        try (Session session = sessionFactory.openSession()) {
+            assertThat(
+                    session
+                            .createNamedQuery("info.gianlucacosta.balmung.readLemmas", Lemma.class)
+                            .getResultList()
+                            .size(),
+                    is(allTestLemmas.size())
+            );
+
+            assertThat(
+                    session
+                            .createNamedQuery("info.gianlucacosta.balmung.readNouns", Noun.class)
+                            .getResultList()
+                            .size(),
+                    is(testNouns.size())
+            );
+        }
+    }
+
+
+    @Test
+    public void savingLemmasInBatchShouldWork() {
+        assertThat(
+                hibernateLexicon.saveAll(allTestLemmas),
+                is(allTestLemmas.size())
+        );
+
+        try (Stream<Lemma> lemmas = hibernateLexicon.findLemmas()) {
+            assertThat(
+                    lemmas.collect(Collectors.toSet()),
+                    is(allTestLemmas)
+            );
+        }
+
+        assertThat(
+                hibernateLexicon.getStatistics().countLemmasByWordClass().get(Noun.class),
+                is((long) testNouns.size())
+        );
+    }
+
+
+    @Test
+    public void savingLemmasInBatchShouldOnlySkipTheFailingLemmas() {
+        Lemma storedLemma = allTestLemmas.iterator().next();
+
+        assertThat(hibernateLexicon.save(storedLemma), is(true));
+
+        assertThat(
+                hibernateLexicon.saveAll(allTestLemmas),
+                is(allTestLemmas.size() - 1)
+        );
+
+        try (Stream<Lemma> lemmas = hibernateLexicon.findLemmas()) {
+            assertThat(
+                    lemmas.collect(Collectors.toSet()),
+                    is(allTestLemmas)
+            );
+        }
+    }
+
+
+    @Test
+    public void upsertingLemmasInBatchShouldReplaceLemmasOfTheSameBatch() {
+        HibernateLexicon upsertingLexicon =
+                new HibernateLexicon(sessionFactory, SavingMode.UPSERT);
+
+        Lemma replacingLemma = buildSynonymousLemma("Omega");
+
+        assertThat(
+                upsertingLexicon.saveAll(
+                        Arrays.asList(
+                                buildSynonymousLemma("Alpha"),
+                                replacingLemma
+                        )
+                ),
+                is(2)
+        );
+
+        assertThat(
+                upsertingLexicon.findByExpression(replacingLemma.getExpression()),
+                is(Collections.singletonList(replacingLemma))
+        );
+    }
+
+
+    @Test
+    public void exportedLexiconsShouldBeImportedIntoOtherLexicons() {
+        allTestLemmas.forEach(hibernateLexicon::save);
+
+        ByteArrayOutputStream archiveStream = new ByteArrayOutputStream();
+
+        assertThat(
+                new LexiconExporter().export(hibernateLexicon, archiveStream),
+                is((long) allTestLemmas.size())
+        );
+
+        SessionFactory targetSessionFactory = new LocalDatabase().createSessionFactory();
+
+        try {
+            HibernateLexicon targetLexicon = new HibernateLexicon(targetSessionFactory);
+
+            assertThat(
+                    new LexiconImporter().importInto(
+                            new ByteArrayInputStream(archiveStream.toByteArray()),
+                            targetLexicon
+                    ),
+                    is((long) allTestLemmas.size())
+            );
+
+            try (Stream<Lemma> lemmas = targetLexicon.findLemmas()) {
+                assertThat(
+                        lemmas.collect(Collectors.toSet()),
+                        is(allTestLemmas)
+                );
+            }
+        } finally {
+            targetSessionFactory.close();
+        }
+    }
+
+
+    private static Lemma buildSynonymousLemma(String synonym) {
+        return new Lemma(
+                "Gamma Generic Lemma",
+                Collections.singleton("Generic"),
+                Collections.emptyList(),
+                Optional.empty(),
+                Collections.singleton(synonym),
+                Collections.emptySet(),
+                Collections.emptySet()
+        );
+    }
+
+
     private static NounDeclension buildSimpleNounDeclension(String repeatedWord) {
         return NounDeclension.createOption(
                 repeatedWord,
@@ -20,12 +20,49 @@
 
 package info.gianlucacosta.odin.storage.hibernate;
 
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.odin.storage.LemmaCriteria;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.c3p0.internal.C3P0ConnectionProvider;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class LocalDatabaseTest extends LocalDatabaseTestBase {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
     @Test
     public void creatingTheSessionFactoryShouldWorkWithoutError() {
         assertThat(
@@ -33,4 +70,673 @@ public class LocalDatabaseTest extends LocalDatabaseTestBase {
                 notNullValue()
         );
     }
+
+
+    @Test
+    public void theExpressionIndexShouldBeCreated() {
+        try (Session session = sessionFactory.openSession()) {
+            boolean indexFound =
+                    session.doReturningWork(connection -> {
+                        try (PreparedStatement statement =
+                                     connection.prepareStatement(
+                                             "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SYSTEM_INDEXINFO WHERE INDEX_NAME = ?"
+                                     )) {
+                            statement.setString(1, "LEMMA_EXPRESSION_INDEX");
+
+                            try (ResultSet resultSet = statement.executeQuery()) {
+                                resultSet.next();
+                                return resultSet.getInt(1) > 0;
+                            }
+                        }
+                    });
+
+            assertThat(
+                    indexFound,
+                    is(true)
+            );
+        }
+    }
+
+
+    @Test
+    public void snapshotsShouldBeReadableButNotWritable() throws IOException {
+        Path rootDirectoryPath = temporaryFolder.newFolder().toPath();
+
+        LocalDatabase fileDatabase = new LocalDatabase(Optional.of(rootDirectoryPath));
+
+        Lemma lemma =
+                new Lemma(
+                        "Alpha",
+                        Collections.singleton("Generic")
+                );
+
+        SessionFactory writingSessionFactory = fileDatabase.createSessionFactory();
+
+        try {
+            assertThat(
+                    new HibernateLexicon(writingSessionFactory).save(lemma),
+                    is(true)
+            );
+        } finally {
+            writingSessionFactory.close();
+        }
+
+        assertThat(fileDatabase.isSnapshot(), is(false));
+
+        fileDatabase.createSnapshot();
+
+        assertThat(fileDatabase.isSnapshot(), is(true));
+
+        SessionFactory firstReadingSessionFactory = fileDatabase.createSessionFactory();
+        SessionFactory secondReadingSessionFactory = fileDatabase.createSessionFactory();
+
+        try {
+            assertThat(
+                    new HibernateLexicon(firstReadingSessionFactory).findByExpression("Alpha"),
+                    is(Collections.singletonList(lemma))
+            );
+
+            assertThat(
+                    new HibernateLexicon(secondReadingSessionFactory).findByExpression("Alpha"),
+                    is(Collections.singletonList(lemma))
+            );
+
+            assertThat(
+                    new HibernateLexicon(firstReadingSessionFactory).save(
+                            new Lemma(
+                                    "Beta",
+                                    Collections.singleton("Generic")
+                            )
+                    ),
+                    is(false)
+            );
+
+            assertThat(
+                    Files.exists(rootDirectoryPath.resolve("data.lck")),
+                    is(false)
+            );
+        } finally {
+            firstReadingSessionFactory.close();
+            secondReadingSessionFactory.close();
+        }
+    }
+
+
+    @Test
+    public void differentDatabasesShouldShareTheBootstrap() throws IOException {
+        LocalDatabase fileDatabase = new LocalDatabase(Optional.of(temporaryFolder.newFolder().toPath()));
+
+        SessionFactory fileSessionFactory = fileDatabase.createSessionFactory();
+        SessionFactory inMemorySessionFactory = new LocalDatabase().createSessionFactory();
+
+        StandardServiceRegistry sharedServiceRegistry = fileSessionFactory.getSessionFactoryOptions().getServiceRegistry();
+
+        try {
+            assertThat(
+                    inMemorySessionFactory.getSessionFactoryOptions().getServiceRegistry(),
+                    sameInstance(sharedServiceRegistry)
+            );
+
+            assertThat(
+                    new HibernateLexicon(fileSessionFactory).save(
+                            new Lemma(
+                                    "Alpha",
+                                    Collections.singleton("Generic")
+                            )
+                    ),
+                    is(true)
+            );
+
+            try (Stream<Lemma> lemmas = new HibernateLexicon(inMemorySessionFactory).findLemmas()) {
+                assertThat(lemmas.count(), is(0L));
+            }
+        } finally {
+            fileSessionFactory.close();
+            inMemorySessionFactory.close();
+        }
+
+        SessionFactory reopenedSessionFactory = fileDatabase.createSessionFactory();
+
+        try {
+            assertThat(
+                    reopenedSessionFactory.getSessionFactoryOptions().getServiceRegistry(),
+                    sameInstance(sharedServiceRegistry)
+            );
+
+            try (Stream<Lemma> lemmas = new HibernateLexicon(reopenedSessionFactory).findLemmas()) {
+                assertThat(lemmas.count(), is(1L));
+            }
+        } finally {
+            reopenedSessionFactory.close();
+        }
+    }
+
+
+    @Test
+    public void preloadingIntoMemoryShouldCopyLemmasAndRejectWrites() throws IOException {
+        testPreloading(false);
+    }
+
+
+    @Test
+    public void preloadingIntoMemoryInParallelShouldCopyLemmasAndRejectWrites() throws IOException {
+        testPreloading(true);
+    }
+
+
+    private void testPreloading(boolean parallelCopy) throws IOException {
+        Path rootDirectoryPath = temporaryFolder.newFolder().toPath();
+
+        LocalDatabase fileDatabase = new LocalDatabase(Optional.of(rootDirectoryPath));
+
+        Lemma lemma =
+                new Lemma(
+                        "Alpha",
+                        Collections.singleton("Generic")
+                );
+
+        SessionFactory fileSessionFactory = fileDatabase.createSessionFactory();
+
+        try {
+            new HibernateLexicon(fileSessionFactory).save(lemma);
+        } finally {
+            fileSessionFactory.close();
+        }
+
+        SessionFactory preloadedSessionFactory =
+                fileDatabase.createPreloadedSessionFactory(parallelCopy);
+
+        try {
+            HibernateLexicon preloadedLexicon = new HibernateLexicon(preloadedSessionFactory);
+
+            assertThat(
+                    preloadedLexicon.findByExpression("Alpha"),
+                    is(Collections.singletonList(lemma))
+            );
+
+            Lemma otherLemma =
+                    new Lemma(
+                            "Beta",
+                            Collections.singleton("Generic")
+                    );
+
+            assertThat(
+                    preloadedLexicon.save(otherLemma),
+                    is(false)
+            );
+
+            try (Stream<Lemma> lemmas = preloadedLexicon.findLemmas()) {
+                assertThat(
+                        lemmas.collect(Collectors.toSet()),
+                        is(Collections.singleton(lemma))
+                );
+            }
+        } finally {
+            preloadedSessionFactory.close();
+        }
+    }
+
+
+    @Test
+    public void settingsShouldBeAppliedToNewDatabases() throws IOException {
+        Path rootDirectoryPath = temporaryFolder.newFolder().toPath();
+
+        LocalDatabase fileDatabase =
+                new LocalDatabase(
+                        Optional.of(rootDirectoryPath),
+                        LocalDatabaseSettings.lowMemory()
+                );
+
+        SessionFactory fileSessionFactory = fileDatabase.createSessionFactory();
+
+        try {
+            assertThat(
+                    readDatabaseProperty(fileSessionFactory, "hsqldb.cache_rows"),
+                    is("5000")
+            );
+
+            assertThat(
+                    readDatabaseProperty(fileSessionFactory, "hsqldb.default_table_type"),
+                    is("CACHED")
+            );
+        } finally {
+            fileSessionFactory.close();
+        }
+    }
+
+
+    @Test
+    public void settingsShouldBeAppliedToExistingDatabases() throws IOException {
+        Path rootDirectoryPath = temporaryFolder.newFolder().toPath();
+
+        new LocalDatabase(Optional.of(rootDirectoryPath))
+                .createSessionFactory()
+                .close();
+
+        LocalDatabase fileDatabase =
+                new LocalDatabase(
+                        Optional.of(rootDirectoryPath),
+                        LocalDatabaseSettings
+                                .readMostlyService()
+                                .toBuilder()
+                                .writeDelayMillis(200)
+                                .build()
+                );
+
+        SessionFactory fileSessionFactory = fileDatabase.createSessionFactory();
+
+        try {
+            assertThat(
+                    readDatabaseProperty(fileSessionFactory, "hsqldb.cache_rows"),
+                    is("200000")
+            );
+
+            assertThat(
+                    readDatabaseProperty(fileSessionFactory, "hsqldb.write_delay_millis"),
+                    is("200")
+            );
+        } finally {
+            fileSessionFactory.close();
+        }
+    }
+
+
+    @Test
+    public void mvccReadsShouldNotBlockBehindUncommittedWrites() throws Exception {
+        LocalDatabase database = new LocalDatabase(
+                Optional.empty(),
+                LocalDatabaseSettings
+                        .builder()
+                        .transactionControl(LocalDatabaseSettings.TransactionControl.MVCC)
+                        .isolationLevel(LocalDatabaseSettings.IsolationLevel.READ_COMMITTED)
+                        .build()
+        );
+
+        SessionFactory mvccSessionFactory = database.createSessionFactory();
+
+        try {
+            assertThat(
+                    readDatabaseProperty(mvccSessionFactory, "hsqldb.tx"),
+                    is("mvcc")
+            );
+
+            assertThat(
+                    readDatabaseProperty(mvccSessionFactory, "hsqldb.tx_level"),
+                    is("read committed")
+            );
+
+            HibernateLexicon lexicon = new HibernateLexicon(mvccSessionFactory);
+
+            Lemma alphaLemma =
+                    new Lemma(
+                            "Alpha",
+                            Collections.singleton("Generic")
+                    );
+
+            lexicon.save(alphaLemma);
+
+            try (Session writingSession = mvccSessionFactory.openSession()) {
+                writingSession.beginTransaction();
+
+                writingSession.persist(
+                        new Lemma(
+                                "Beta",
+                                Collections.singleton("Generic")
+                        )
+                );
+
+                writingSession.flush();
+
+                CompletableFuture<List<Lemma>> alphaFuture =
+                        CompletableFuture.supplyAsync(() -> lexicon.findByExpression("Alpha"));
+
+                CompletableFuture<List<Lemma>> betaFuture =
+                        CompletableFuture.supplyAsync(() -> lexicon.findByExpression("Beta"));
+
+                assertThat(
+                        alphaFuture.get(10, TimeUnit.SECONDS),
+                        is(Collections.singletonList(alphaLemma))
+                );
+
+                assertThat(
+                        betaFuture.get(10, TimeUnit.SECONDS),
+                        is(Collections.emptyList())
+                );
+
+                writingSession.getTransaction().rollback();
+            }
+        } finally {
+            mvccSessionFactory.close();
+        }
+    }
+
+
+    @Test
+    public void transactionControlShouldBeAppliedToExistingDatabases() throws IOException {
+        Path rootDirectoryPath = temporaryFolder.newFolder().toPath();
+
+        new LocalDatabase(Optional.of(rootDirectoryPath))
+                .createSessionFactory()
+                .close();
+
+        LocalDatabase fileDatabase =
+                new LocalDatabase(
+                        Optional.of(rootDirectoryPath),
+                        LocalDatabaseSettings.bulkImport()
+                );
+
+        SessionFactory fileSessionFactory = fileDatabase.createSessionFactory();
+
+        try {
+            assertThat(
+                    readDatabaseProperty(fileSessionFactory, "hsqldb.tx"),
+                    is("mvcc")
+            );
+
+            assertThat(
+                    readDatabaseProperty(fileSessionFactory, "hsqldb.tx_level"),
+                    is("read committed")
+            );
+        } finally {
+            fileSessionFactory.close();
+        }
+    }
+
+
+    private static String readDatabaseProperty(SessionFactory sessionFactory, String propertyName) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.doReturningWork(connection -> {
+                try (PreparedStatement statement =
+                             connection.prepareStatement(
+                                     "SELECT PROPERTY_VALUE FROM INFORMATION_SCHEMA.SYSTEM_PROPERTIES WHERE PROPERTY_NAME = ?"
+                             )) {
+                    statement.setString(1, propertyName);
+
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        resultSet.next();
+                        return resultSet.getString(1);
+                    }
+                }
+            });
+        }
+    }
+
+
+    @Test
+    public void theSchemaVersionShouldBeRecorded() {
+        assertThat(
+                readSchemaVersion(sessionFactory),
+                is(SchemaManager.CURRENT_SCHEMA_VERSION)
+        );
+    }
+
+
+    @Test
+    public void existingDatabasesShouldBeValidatedAndBaselined() throws IOException {
+        Path rootDirectoryPath = temporaryFolder.newFolder().toPath();
+
+        LocalDatabase fileDatabase =
+                new LocalDatabase(
+                        Optional.of(rootDirectoryPath),
+                        LocalDatabaseSettings
+                                .builder()
+                                .validateSchema(true)
+                                .build()
+                );
+
+        SessionFactory creatingSessionFactory = fileDatabase.createSessionFactory();
+
+        try (Session session = creatingSessionFactory.openSession()) {
+            session.doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(String.format("DROP TABLE %s", SchemaManager.VERSION_TABLE_NAME));
+                }
+            });
+        } finally {
+            creatingSessionFactory.close();
+        }
+
+        SessionFactory baseliningSessionFactory = fileDatabase.createSessionFactory();
+
+        try {
+            assertThat(
+                    readSchemaVersion(baseliningSessionFactory),
+                    is(SchemaManager.CURRENT_SCHEMA_VERSION)
+            );
+        } finally {
+            baseliningSessionFactory.close();
+        }
+
+        SessionFactory validatingSessionFactory = fileDatabase.createSessionFactory();
+
+        try {
+            assertThat(
+                    readSchemaVersion(validatingSessionFactory),
+                    is(SchemaManager.CURRENT_SCHEMA_VERSION)
+            );
+        } finally {
+            validatingSessionFactory.close();
+        }
+    }
+
+
+    @Test
+    public void migratedDatabasesShouldFilterBySyllablesCount() throws IOException {
+        Path rootDirectoryPath = temporaryFolder.newFolder().toPath();
+
+        LocalDatabase fileDatabase = new LocalDatabase(Optional.of(rootDirectoryPath));
+
+        SessionFactory creatingSessionFactory = fileDatabase.createSessionFactory();
+
+        try {
+            new HibernateLexicon(creatingSessionFactory).save(
+                    new Lemma(
+                            "Katze",
+                            Collections.singleton("Substantiv"),
+                            Arrays.asList("Kat", "ze"),
+                            Optional.empty(),
+                            Collections.emptySet(),
+                            Collections.emptySet(),
+                            Collections.emptySet()
+                    )
+            );
+
+            try (Session session = creatingSessionFactory.openSession()) {
+                session.beginTransaction();
+
+                session.doWork(connection -> {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute(String.format("DROP TABLE %s", LemmaSyllablesCount.TABLE_NAME));
+
+                        statement.execute(
+                                String.format("UPDATE %s SET VERSION = 1", SchemaManager.VERSION_TABLE_NAME)
+                        );
+                    }
+                });
+
+                session.getTransaction().commit();
+            }
+        } finally {
+            creatingSessionFactory.close();
+        }
+
+        SessionFactory migratedSessionFactory = fileDatabase.createSessionFactory();
+
+        try {
+            assertThat(
+                    readSchemaVersion(migratedSessionFactory),
+                    is(SchemaManager.CURRENT_SCHEMA_VERSION)
+            );
+
+            try (Stream<Lemma> lemmas =
+                         new HibernateLexicon(migratedSessionFactory).findLemmas(
+                                 Lemma.class,
+                                 LemmaCriteria.any().withSyllablesCount(2)
+                         )) {
+                assertThat(
+                        lemmas
+                                .map(Lemma::getExpression)
+                                .collect(Collectors.toList()),
+                        is(Collections.singletonList("Katze"))
+                );
+            }
+        } finally {
+            migratedSessionFactory.close();
+        }
+    }
+
+
+    @Test(expected = IllegalStateException.class)
+    public void newerSchemaVersionsShouldBeRejected() throws IOException {
+        Path rootDirectoryPath = temporaryFolder.newFolder().toPath();
+
+        LocalDatabase fileDatabase = new LocalDatabase(Optional.of(rootDirectoryPath));
+
+        SessionFactory creatingSessionFactory = fileDatabase.createSessionFactory();
+
+        try (Session session = creatingSessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+
+            session.doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(
+                            String.format(
+                                    "UPDATE %s SET VERSION = %d",
+                                    SchemaManager.VERSION_TABLE_NAME,
+                                    SchemaManager.CURRENT_SCHEMA_VERSION + 1
+                            )
+                    );
+                }
+            });
+
+            transaction.commit();
+        } finally {
+            creatingSessionFactory.close();
+        }
+
+        fileDatabase.createSessionFactory();
+    }
+
+
+    @Test
+    public void sessionFactoriesShouldUseTheConfiguredConnectionPool() throws IOException {
+        ConnectionPoolSettings connectionPoolSettings =
+                ConnectionPoolSettings
+                        .builder()
+                        .minSize(2)
+                        .maxSize(3)
+                        .maxStatements(50)
+                        .validateOnCheckout(true)
+                        .build();
+
+        LocalDatabase database = new LocalDatabase(
+                Optional.of(temporaryFolder.newFolder().toPath()),
+                LocalDatabaseSettings
+                        .builder()
+                        .connectionPool(connectionPoolSettings)
+                        .build()
+        );
+
+        SessionFactory sessionFactory = database.createSessionFactory();
+
+        try {
+            assertThat(getConnectionProvider(sessionFactory), instanceOf(C3P0ConnectionProvider.class));
+
+            long lemmasCount = IntStream.range(0, 8)
+                    .parallel()
+                    .mapToLong(index -> {
+                        try (Session session = sessionFactory.openSession()) {
+                            return session
+                                    .createQuery("SELECT COUNT(*) FROM Lemma", Long.class)
+                                    .getSingleResult();
+                        }
+                    })
+                    .sum();
+
+            assertThat(lemmasCount, equalTo(0L));
+        } finally {
+            sessionFactory.close();
+        }
+    }
+
+
+    @Test
+    public void inMemoryDatabasesShouldNotBePooled() {
+        LocalDatabase database = new LocalDatabase();
+
+        SessionFactory sessionFactory = database.createSessionFactory();
+
+        try {
+            assertThat(getConnectionProvider(sessionFactory), not(instanceOf(C3P0ConnectionProvider.class)));
+        } finally {
+            sessionFactory.close();
+        }
+    }
+
+
+    @Test
+    public void fileDatabasesShouldBePooledByDefault() throws IOException {
+        LocalDatabase database = new LocalDatabase(Optional.of(temporaryFolder.newFolder().toPath()));
+
+        SessionFactory sessionFactory = database.createSessionFactory();
+
+        try {
+            assertThat(getConnectionProvider(sessionFactory), instanceOf(C3P0ConnectionProvider.class));
+        } finally {
+            sessionFactory.close();
+        }
+    }
+
+
+    @Test
+    public void connectionPoolingShouldBeOptOut() throws IOException {
+        LocalDatabase database = new LocalDatabase(
+                Optional.of(temporaryFolder.newFolder().toPath()),
+                LocalDatabaseSettings
+                        .builder()
+                        .noConnectionPool()
+                        .build()
+        );
+
+        SessionFactory sessionFactory = database.createSessionFactory();
+
+        try {
+            assertThat(getConnectionProvider(sessionFactory), not(instanceOf(C3P0ConnectionProvider.class)));
+        } finally {
+            sessionFactory.close();
+        }
+    }
+
+
+    private static ConnectionProvider getConnectionProvider(SessionFactory sessionFactory) {
+        return sessionFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(ConnectionProvider.class);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void connectionPoolsShouldRejectMaxSizeLowerThanMinSize() {
+        ConnectionPoolSettings
+                .builder()
+                .minSize(5)
+                .maxSize(2)
+                .build();
+    }
+
+
+    private static int readSchemaVersion(SessionFactory sessionFactory) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.doReturningWork(connection -> {
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery(
+                             String.format("SELECT VERSION FROM %s", SchemaManager.VERSION_TABLE_NAME)
+                     )) {
+                    resultSet.next();
+                    return resultSet.getInt(1);
+                }
+            });
+        }
+    }
 }
@@ -0,0 +1,379 @@
+/*^
+  ===========================================================================
+  Odin
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+
+package info.gianlucacosta.odin.storage.hibernate;
+
+import info.gianlucacosta.balmung.lexicon.*;
+import info.gianlucacosta.odin.storage.LemmaCriteria;
+import info.gianlucacosta.odin.storage.NounGender;
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ShardedLexiconTest {
+    private static final int SHARDS_COUNT = 3;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final Lemma appleLemma =
+            new Lemma(
+                    "Apfel",
+                    Collections.singleton("Generic")
+            );
+
+    private final Noun moonNoun =
+            new Noun(
+                    "Mond",
+                    Collections.singleton("Substantiv"),
+                    NounDeclension.createOption(
+                            "Mond",
+                            "Mond",
+                            "Mond",
+                            "Monds",
+
+                            "Monde",
+                            "Monde",
+                            "Monden",
+                            "Monde"
+                    ).get()
+            );
+
+    private final Verb sleepVerb =
+            new Verb(
+                    "schlafen",
+                    Collections.singleton("Verb")
+            );
+
+    private final Adjective quietAdjective =
+            new Adjective(
+                    "still",
+                    Collections.singleton("Adjektiv")
+            );
+
+    private final Lemma zebraLemma =
+            new Lemma(
+                    "Zebra",
+                    Collections.singleton("Generic")
+            );
+
+    private final Set<Lemma> allLemmas =
+            new HashSet<>(Arrays.asList(appleLemma, moonNoun, sleepVerb, quietAdjective, zebraLemma));
+
+    private List<SessionFactory> sessionFactories;
+    private ShardedLexicon shardedLexicon;
+
+
+    @Before
+    public void init() {
+        sessionFactories =
+                LocalDatabase
+                        .createShards(Optional.empty(), SHARDS_COUNT, ShardingStrategy.INITIAL_LETTER, LocalDatabaseSettings.defaults())
+                        .stream()
+                        .map(LocalDatabase::createSessionFactory)
+                        .collect(Collectors.toList());
+
+        shardedLexicon =
+                new ShardedLexicon(
+                        sessionFactories
+                                .stream()
+                                .map(HibernateLexicon::new)
+                                .collect(Collectors.toList()),
+                        ShardingStrategy.INITIAL_LETTER
+                );
+    }
+
+
+    @After
+    public void clean() {
+        shardedLexicon.close();
+        sessionFactories.forEach(SessionFactory::close);
+    }
+
+
+    @Test
+    public void lemmasShouldBeRoutedToASingleShard() {
+        allLemmas.forEach(shardedLexicon::save);
+
+        assertThat(shardedLexicon.getShardIndex("Apfel"), is(0));
+        assertThat(shardedLexicon.getShardIndex("Mond"), is(1));
+        assertThat(shardedLexicon.getShardIndex("Zebra"), is(2));
+
+        assertThat(
+                shardedLexicon.getShards().get(1).findByExpression("Mond"),
+                is(Collections.singletonList(moonNoun))
+        );
+
+        assertThat(
+                shardedLexicon.getShards().get(0).findByExpression("Mond"),
+                is(Collections.emptyList())
+        );
+
+        assertThat(
+                shardedLexicon.findByExpression("Zebra"),
+                is(Collections.singletonList(zebraLemma))
+        );
+    }
+
+
+    @Test
+    public void scansShouldMergeAllTheShards() {
+        assertThat(
+                shardedLexicon.saveAll(allLemmas),
+                is(allLemmas.size())
+        );
+
+        try (Stream<Lemma> lemmas = shardedLexicon.findLemmas()) {
+            assertThat(
+                    lemmas.collect(Collectors.toSet()),
+                    is(allLemmas)
+            );
+        }
+
+        try (Stream<Lemma> lemmas = shardedLexicon.findLemmasInParallel()) {
+            assertThat(
+                    lemmas.collect(Collectors.toSet()),
+                    is(allLemmas)
+            );
+        }
+
+        try (Stream<Noun> nouns = shardedLexicon.findNounsInParallel()) {
+            assertThat(
+                    nouns.collect(Collectors.toList()),
+                    is(Collections.singletonList(moonNoun))
+            );
+        }
+
+        try (Stream<String> expressions = shardedLexicon.streamExpressions()) {
+            assertThat(
+                    expressions.collect(Collectors.toSet()),
+                    is(new HashSet<>(Arrays.asList("Apfel", "Mond", "schlafen", "still", "Zebra")))
+            );
+        }
+
+        assertThat(
+                new HashSet<>(shardedLexicon.findByExpressions(Arrays.asList("Apfel", "still", "Missing"))),
+                is(new HashSet<>(Arrays.asList(appleLemma, quietAdjective)))
+        );
+    }
+
+
+    @Test
+    public void parallelScansShouldMergeAllTheShards() {
+        shardedLexicon.saveAll(allLemmas);
+
+        try (Stream<Lemma> lemmas = shardedLexicon.findLemmasInParallel(Lemma.class, LemmaCriteria.any().withCategory("Generic"))) {
+            assertThat(
+                    lemmas.collect(Collectors.toSet()),
+                    is(new HashSet<>(Arrays.asList(appleLemma, zebraLemma)))
+            );
+        }
+
+        try (Stream<String> expressions = shardedLexicon.streamExpressionsInParallel()) {
+            assertThat(
+                    expressions.collect(Collectors.toSet()),
+                    is(new HashSet<>(Arrays.asList("Apfel", "Mond", "schlafen", "still", "Zebra")))
+            );
+        }
+
+        try (Stream<NounGender> nounGenders = shardedLexicon.streamNounGendersInParallel()) {
+            assertThat(
+                    nounGenders.count(),
+                    is(1L)
+            );
+        }
+    }
+
+
+    @Test
+    public void samplingShouldSpanAllTheShards() {
+        shardedLexicon.saveAll(allLemmas);
+
+        assertThat(
+                new HashSet<>(shardedLexicon.sample(Lemma.class, allLemmas.size() + 1, LemmaCriteria.any())),
+                is(allLemmas)
+        );
+
+        for (int attempt = 0; attempt < 20; attempt++) {
+            List<Lemma> sample = shardedLexicon.sample(Lemma.class, 3, LemmaCriteria.any());
+
+            assertThat(sample.size(), is(3));
+            assertThat(new HashSet<>(sample).size(), is(3));
+            assertThat(allLemmas.containsAll(sample), is(true));
+        }
+    }
+
+
+    @Test
+    public void samplingShouldTopUpShardsMatchingFewerLemmas() {
+        shardedLexicon.saveAll(allLemmas);
+
+        for (int attempt = 0; attempt < 20; attempt++) {
+            assertThat(
+                    new HashSet<>(shardedLexicon.sample(Lemma.class, 2, LemmaCriteria.any().withCategory("Generic"))),
+                    is(new HashSet<>(Arrays.asList(appleLemma, zebraLemma)))
+            );
+        }
+    }
+
+
+    @Test
+    public void statisticsShouldBeMergedAcrossTheShards() {
+        shardedLexicon.saveAll(allLemmas);
+
+        Map<Class<? extends Lemma>, Long> lemmasByWordClass =
+                shardedLexicon.getStatistics().countLemmasByWordClass();
+
+        assertThat(lemmasByWordClass.get(Lemma.class), is(2L));
+        assertThat(lemmasByWordClass.get(Noun.class), is(1L));
+        assertThat(lemmasByWordClass.get(Verb.class), is(1L));
+        assertThat(lemmasByWordClass.get(Adjective.class), is(1L));
+
+        assertThat(
+                shardedLexicon.getStatistics().countLemmasByCategory().get("Generic"),
+                is(2L)
+        );
+    }
+
+
+    @Test
+    public void asyncSavesShouldBeAppliedByTheShardWriters() {
+        List<Boolean> savingResults =
+                allLemmas
+                        .stream()
+                        .map(shardedLexicon::saveAsync)
+                        .collect(Collectors.toList())
+                        .stream()
+                        .map(savingStage -> savingStage.toCompletableFuture().join())
+                        .collect(Collectors.toList());
+
+        assertThat(
+                savingResults.stream().allMatch(Boolean::booleanValue),
+                is(true)
+        );
+
+        try (Stream<Lemma> lemmas = shardedLexicon.findLemmas()) {
+            assertThat(lemmas.count(), is((long) allLemmas.size()));
+        }
+    }
+
+
+    @Test
+    public void initialLetterShardingShouldIgnoreCaseAndDiacritics() {
+        ShardingStrategy strategy = ShardingStrategy.INITIAL_LETTER;
+
+        assertThat(
+                strategy.getShardIndex("Äpfel", 4),
+                is(strategy.getShardIndex("apfel", 4))
+        );
+
+        assertThat(strategy.getShardIndex("Zebra", 4), is(3));
+        assertThat(strategy.getShardIndex("", 4), is(0));
+    }
+
+
+    @Test
+    public void hashShardingShouldStayWithinTheShards() {
+        Stream.of("Alpha", "Beta", "Gamma", "Ω", "123")
+                .forEach(expression -> {
+                    int shardIndex = ShardingStrategy.EXPRESSION_HASH.getShardIndex(expression, 5);
+
+                    assertThat(shardIndex >= 0 && shardIndex < 5, is(true));
+                });
+    }
+
+
+    @Test
+    public void fileShardsShouldBeCreatedInSeparateDirectories() throws IOException {
+        Path rootDirectoryPath = temporaryFolder.newFolder().toPath();
+
+        List<LocalDatabase> shards =
+                LocalDatabase.createShards(
+                        Optional.of(rootDirectoryPath),
+                        2,
+                        ShardingStrategy.EXPRESSION_HASH,
+                        LocalDatabaseSettings.defaults()
+                );
+
+        assertThat(
+                shards.get(1).getRootDirectoryPathOption(),
+                is(Optional.of(rootDirectoryPath.resolve("shard-01")))
+        );
+    }
+
+
+    @Test
+    public void fileShardsShouldBeReopenedWithTheSameLayout() throws IOException {
+        Path rootDirectoryPath = temporaryFolder.newFolder().toPath();
+
+        LocalDatabase.createShards(Optional.of(rootDirectoryPath), 2, ShardingStrategy.EXPRESSION_HASH, LocalDatabaseSettings.defaults());
+
+        List<LocalDatabase> reopenedShards =
+                LocalDatabase.createShards(Optional.of(rootDirectoryPath), 2, ShardingStrategy.EXPRESSION_HASH, LocalDatabaseSettings.defaults());
+
+        assertThat(reopenedShards.size(), is(2));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void reopeningFileShardsWithAnotherCountShouldFail() throws IOException {
+        Path rootDirectoryPath = temporaryFolder.newFolder().toPath();
+
+        LocalDatabase.createShards(Optional.of(rootDirectoryPath), 2, ShardingStrategy.EXPRESSION_HASH, LocalDatabaseSettings.defaults());
+
+        LocalDatabase.createShards(Optional.of(rootDirectoryPath), 3, ShardingStrategy.EXPRESSION_HASH, LocalDatabaseSettings.defaults());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void reopeningFileShardsWithAnotherStrategyShouldFail() throws IOException {
+        Path rootDirectoryPath = temporaryFolder.newFolder().toPath();
+
+        LocalDatabase.createShards(Optional.of(rootDirectoryPath), 2, ShardingStrategy.EXPRESSION_HASH, LocalDatabaseSettings.defaults());
+
+        LocalDatabase.createShards(Optional.of(rootDirectoryPath), 2, ShardingStrategy.INITIAL_LETTER, LocalDatabaseSettings.defaults());
+    }
+
+
+    @Test
+    public void closingShouldLeaveTheShardSessionFactoriesOpen() {
+        shardedLexicon.close();
+
+        assertThat(
+                sessionFactories
+                        .stream()
+                        .allMatch(SessionFactory::isOpen),
+                is(true)
+        );
+    }
+}